@@ -38,34 +38,28 @@ def get_ref_pose_from_disk(song_title: str, frame_index: int):
 
 
 ################# 실시간 포즈 평가 API ##################
-@app.route("/analyze", methods=["POST"])
-def pose_eval():
-    image = request.files.get("frame")
-    song_title = request.form.get("song_title")
-    session_id = request.form.get("session_id")
-    frame_index = int(request.form.get("frame_index", 0))
-
-    app.logger.info(f"image={image}, song_title={song_title}, session_id={session_id}, frame_index={frame_index}")
-
-    if not image or not song_title:
-        app.logger.warning("Missing parameters")
-        return jsonify({"error": "Missing parameters"}), 400
-
-    npimg = np.frombuffer(image.read(), np.uint8)
+def evaluate_frame(image_bytes, song_title, session_id, frame_index):
+    """프레임 하나 평가 → (응답 dict, HTTP 상태코드). 세션 큐에 순서대로 쌓이므로 호출 순서가 곧 모션 평가 순서"""
+    npimg = np.frombuffer(image_bytes, np.uint8)
     frame = cv2.imdecode(npimg, cv2.IMREAD_COLOR)
 
     del npimg  # 불필요한 numpy 배열 제거
 
+    # 디코딩할 수 없는 이미지는 큐에 넣지 않고 해당 프레임만 오류
+    if frame is None:
+        app.logger.warning(f"Could not decode image for frame {frame_index}")
+        return {"error": "Invalid image", "frame_index": frame_index}, 400
+
 
     # 사용자 프레임 → 키포인트 추출
     user_kps = extract_pose_keypoints(frame)
     if user_kps is None:
         app.logger.warning("User pose not detected in the frame")
-        return jsonify({
+        return {
         "score": 0,
         "feedback": "WORST",
         "frame_index": frame_index
-        })
+        }, 200
 
 
     # 전문가 키포인트 불러오기
@@ -73,7 +67,7 @@ def pose_eval():
 
     if expert_kps is None:
         app.logger.warning(f"No reference keypoints for frame {frame_index} of {song_title}")
-        return jsonify({"error": f"No reference pose for frame {frame_index}"}), 400
+        return {"error": f"No reference pose for frame {frame_index}", "frame_index": frame_index}, 400
 
 
     # 세션별 큐 초기화 (처음 요청일 경우)
@@ -97,7 +91,7 @@ def pose_eval():
             score = compare_pose_bdp(user_kps, expert_kps)
     except Exception as e:
         app.logger.error(f"Pose comparison failed: {e}")
-        return jsonify({"error": "Pose comparison failed"}), 500
+        return {"error": "Pose comparison failed", "frame_index": frame_index}, 500
 
     del frame
     del user_kps
@@ -115,11 +109,64 @@ def pose_eval():
     else:
         feedback = "Worst"
 
-    return jsonify({
+    return {
         "score": score,
         "feedback": feedback,
         "frame_index": frame_index
-    })
+    }, 200
+
+
+@app.route("/analyze", methods=["POST"])
+def pose_eval():
+    image = request.files.get("frame")
+    song_title = request.form.get("song_title")
+    session_id = request.form.get("session_id")
+    frame_index = int(request.form.get("frame_index", 0))
+
+    app.logger.info(f"image={image}, song_title={song_title}, session_id={session_id}, frame_index={frame_index}")
+
+    if not image or not song_title:
+        app.logger.warning("Missing parameters")
+        return jsonify({"error": "Missing parameters"}), 400
+
+    result, status = evaluate_frame(image.read(), song_title, session_id, frame_index)
+    if status != 200:
+        result.pop("frame_index", None)  # 기존 단일 프레임 오류 응답 형식 유지
+    return jsonify(result), status
+
+
+################# 다중 프레임 포즈 평가 API ##################
+@app.route("/analyze_batch", methods=["POST"])
+def pose_eval_batch():
+    """
+    frames(파일 N개)와 frame_indices(N개)를 같은 순서로 받아 순서대로 평가
+    - Spring에서 frame_index 오름차순으로 정렬해 보내므로 모션(double frame) 평가 순서가 보장됨
+    - 프레임별 오류는 전체를 실패시키지 않고 해당 결과에 error로 포함
+    """
+    images = request.files.getlist("frames")
+    frame_indices = request.form.getlist("frame_indices")
+    song_title = request.form.get("song_title")
+    session_id = request.form.get("session_id")
+
+    app.logger.info(f"batch: frames={len(images)}, song_title={song_title}, session_id={session_id}, frame_indices={frame_indices}")
+
+    if not images or not song_title or len(images) != len(frame_indices):
+        app.logger.warning("Missing parameters")
+        return jsonify({"error": "Missing parameters"}), 400
+
+    # 세션 큐를 건드리기 전에 frame_indices 전체를 검증 (중간에 실패하면 앞 프레임만 큐에 반영되므로)
+    try:
+        frame_indices = [int(frame_index) for frame_index in frame_indices]
+    except ValueError:
+        app.logger.warning(f"Invalid frame_indices: {frame_indices}")
+        return jsonify({"error": "Invalid frame_indices"}), 400
+
+    results = []
+    for image, frame_index in zip(images, frame_indices):
+        result, _ = evaluate_frame(image.read(), song_title, session_id, frame_index)
+        results.append(result)
+
+    return jsonify({"results": results})
 
 
 ################# 후처리 ##################
@@ -0,0 +1,122 @@
+package capston.capston_spring.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/** Flask(MediaPipe) 서버 호출용 HTTP 클라이언트 설정 **/
+@Configuration
+public class FlaskClientConfig {
+
+    @Value("${flask.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${flask.http.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${flask.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${flask.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    // 풀에서 커넥션을 기다리는 최대 시간
+    @Value("${flask.http.pool-acquire-timeout-ms:3000}")
+    private long poolAcquireTimeoutMs;
+
+    // Flask가 Keep-Alive 헤더를 주지 않을 때 유휴 커넥션 유지 시간
+    @Value("${flask.http.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    // 비동기 경로: 커넥션이 모두 사용 중일 때 대기할 수 있는 최대 요청 수
+    @Value("${flask.http.max-pending-acquires:500}")
+    private int maxPendingAcquires;
+
+    /** 커넥션 풀 (프레임마다 TCP 핸드셰이크를 하지 않도록 재사용) **/
+    @Bean
+    public PoolingHttpClientConnectionManager flaskConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+
+        // 풀 상태(leased / available / pending) 메트릭 노출
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "flask").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient flaskHttpClient(PoolingHttpClientConnectionManager flaskConnectionManager) {
+        TimeValue defaultKeepAlive = TimeValue.ofSeconds(keepAliveSeconds);
+
+        return HttpClients.custom()
+                .setConnectionManager(flaskConnectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(keepAlive) && keepAlive.compareTo(defaultKeepAlive) < 0 ? keepAlive : defaultKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(defaultKeepAlive)
+                .build();
+    }
+
+    /** Flask 전용 RestTemplate (RestTemplateBuilder를 거쳐 http.client.requests 메트릭도 기록됨) **/
+    @Bean
+    public RestTemplate flaskRestTemplate(RestTemplateBuilder builder, CloseableHttpClient flaskHttpClient) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(flaskHttpClient);
+        requestFactory.setConnectionRequestTimeout(Duration.ofMillis(poolAcquireTimeoutMs));
+
+        return builder
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    /** 비동기(WebClient) 경로용 Reactor Netty 커넥션 풀 **/
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider flaskConnectionProvider() {
+        return ConnectionProvider.builder("flask")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(keepAliveSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    /** Flask 전용 WebClient (비동기 /accuracy-session/analyze-async 경로) **/
+    @Bean
+    public WebClient flaskWebClient(WebClient.Builder builder, ConnectionProvider flaskConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(flaskConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
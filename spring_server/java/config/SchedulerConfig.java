@@ -0,0 +1,101 @@
+package capston.capston_spring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/** 블로킹 작업(JPA, S3 업로드 등)을 실행할 전용 scheduler / executor 설정 **/
+@Configuration
+public class SchedulerConfig {
+
+    @Value("${accuracy.db.thread-cap:20}")
+    private int accuracyDbThreadCap;
+
+    @Value("${accuracy.db.queued-task-cap:10000}")
+    private int accuracyDbQueuedTaskCap;
+
+    @Value("${feedback.io.thread-cap:16}")
+    private int feedbackIoThreadCap;
+
+    @Value("${feedback.io.queued-task-cap:1000}")
+    private int feedbackIoQueuedTaskCap;
+
+    // 이미지 전처리 스레드 수 (기본값: 전처리 버퍼 풀 크기와 동일)
+    @Value("${flask.preprocess.thread-cap:${flask.preprocess.pool-size:4}}")
+    private int imagePreprocessThreadCap;
+
+    @Value("${flask.preprocess.queued-task-cap:1000}")
+    private int imagePreprocessQueuedTaskCap;
+
+    @Value("${feedback.job.workers:2}")
+    private int feedbackJobWorkers;
+
+    @Value("${feedback.job.queue-capacity:50}")
+    private int feedbackJobQueueCapacity;
+
+    @Value("${video.frame-upload.pool-size:8}")
+    private int frameUploadPoolSize;
+
+    @Value("${video.frame-upload.queue-capacity:100}")
+    private int frameUploadQueueCapacity;
+
+    /**
+     * Spring 기본 applicationTaskExecutor (spring.task.execution.* 설정 사용)
+     * - 아래처럼 ThreadPoolTaskExecutor 빈을 직접 선언하면 자동 설정이 기본 executor를 만들지 않으므로 직접 등록
+     * - MVC 비동기 처리(Mono / Flux / SSE 반환값)가 SimpleAsyncTaskExecutor(요청마다 새 스레드)로 떨어지지 않도록 함
+     **/
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /** 정확도 분석 비동기 경로의 JPA 조회/저장용 (스레드 수 상한 = DB 커넥션 풀 크기 이하 권장) **/
+    @Bean(destroyMethod = "dispose")
+    public Scheduler accuracyDbScheduler() {
+        return Schedulers.newBoundedElastic(accuracyDbThreadCap, accuracyDbQueuedTaskCap, "accuracy-db");
+    }
+
+    /** GPT 피드백 파이프라인의 블로킹 작업(JPA, S3 읽기, 영상 추출)용 (Netty 이벤트 루프에서 분리) **/
+    @Bean(destroyMethod = "dispose")
+    public Scheduler feedbackScheduler() {
+        return Schedulers.newBoundedElastic(feedbackIoThreadCap, feedbackIoQueuedTaskCap, "feedback-io");
+    }
+
+    /** 정확도 분석 비동기 경로의 프레임 이미지 전처리(디코딩 / 축소 / JPEG 인코딩)용 (CPU 작업이 DB 스레드를 점유하지 않도록 분리) **/
+    @Bean(destroyMethod = "dispose")
+    public Scheduler imagePreprocessScheduler() {
+        return Schedulers.newBoundedElastic(imagePreprocessThreadCap, imagePreprocessQueuedTaskCap, "image-preprocess");
+    }
+
+    /** 하위 점수 피드백 백그라운드 작업 워커 (작업 상태는 DB에 있으므로 대기열이 가득 차면 거절 후 poll로 재제출) **/
+    @Bean
+    public ThreadPoolTaskExecutor feedbackJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(feedbackJobWorkers);
+        executor.setMaxPoolSize(feedbackJobWorkers);
+        executor.setQueueCapacity(feedbackJobQueueCapacity);
+        executor.setThreadNamePrefix("feedback-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);  // 중단된 작업은 재시작 시 복구됨
+        executor.initialize();
+        return executor;
+    }
+
+    /** 추출한 사용자 프레임 JPEG 인코딩 + S3 업로드 병렬 처리용 (요청 간 공유, 크기 제한) **/
+    @Bean
+    public ThreadPoolTaskExecutor frameUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(frameUploadPoolSize);
+        executor.setMaxPoolSize(frameUploadPoolSize);
+        executor.setQueueCapacity(frameUploadQueueCapacity);
+        executor.setThreadNamePrefix("frame-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,10 @@
+package capston.capston_spring.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** @Scheduled 기반 백그라운드 작업(프레임 평가 버퍼 flush 등) 활성화 **/
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -3,16 +3,23 @@ package capston.capston_spring.controller;
 import capston.capston_spring.dto.AccuracySessionResponse;
 import capston.capston_spring.dto.CorrectionResponse;
 import capston.capston_spring.dto.CustomUserDetails;
+import capston.capston_spring.dto.FrameEvaluationResponse;
+import capston.capston_spring.dto.KeypointAnalyzeRequest;
 import capston.capston_spring.entity.AccuracySession;
 import capston.capston_spring.service.AccuracySessionService;
 import capston.capston_spring.service.SongService;
+import capston.capston_spring.utils.FrameIndexResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -60,14 +67,82 @@ public class AccuracySessionController {
             @RequestPart MultipartFile frame
     ) {
         try {
-            AccuracySession session = accuracySessionService.getSessionById(sessionId)
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid session ID"));
+            // 초 → 전문가 키포인트 프레임 번호 변환은 서비스에서 곡의 fps / 기준 프레임 간격으로 처리 (FrameIndexResolver)
+            return ResponseEntity.ok(FrameEvaluationResponse.from(
+                    accuracySessionService.analyzeAndStoreFrameStep(user.getUsername(), songId, sessionId, sec, frame) // 수정된 서비스 메서드 호출
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        } catch (HttpClientErrorException e) {
+            // Flask 4xx (예: No reference pose) -> Flask 오류 내용을 그대로 400으로 전달
+            return ResponseEntity.status(400).body(flaskErrorBody(e.getResponseBodyAs(Map.class), e.getStatusText()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to analyze and save session"));
+        }
+    }
+
+    /** Mediapipe 기반 점수 평가 (비동기 버전) - Flask 왕복 동안 서블릿 스레드를 점유하지 않음 **/
+    @PostMapping(value = "/analyze-async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<?>> analyzeAndSaveSessionAsync(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam Integer sec,
+            @RequestParam Long songId,
+            @RequestParam Long sessionId,
+            @RequestPart MultipartFile frame
+    ) {
+        return accuracySessionService.analyzeAndStoreFrameStepAsync(user.getUsername(), songId, sessionId, sec, frame)
+                .<ResponseEntity<?>>map(frame -> ResponseEntity.ok(FrameEvaluationResponse.from(frame)))
+                .onErrorResume(IllegalArgumentException.class, e ->
+                        Mono.just(ResponseEntity.status(400).body(Map.of("error", e.getMessage()))))
+                .onErrorResume(WebClientResponseException.class, e -> e.getStatusCode().is4xxClientError()
+                        // Flask 4xx (예: No reference pose) -> 동기 /analyze와 같이 400
+                        ? Mono.just(ResponseEntity.status(400).body(flaskErrorBody(e.getResponseBodyAs(Map.class), e.getStatusText())))
+                        : Mono.error(e))
+                .onErrorResume(e ->
+                        Mono.just(ResponseEntity.status(500).body(Map.of("error", "Failed to analyze and save session"))));
+    }
 
-            int frameIndex = sec * 30;  // FrameIndexCalculator는 초로 받아오는데 전문가 키포인트가 frame 번호로 저장되어있어서 30 곱해줌 -> SuperShy의 fps=30 (만약 일반화 하려면 song entity의 fps를 사용)
+    /** Flask 4xx 응답 본문({"error": ...})을 그대로 사용, 본문이 없으면 상태 메시지 **/
+    private static Map<?, ?> flaskErrorBody(Map<?, ?> body, String statusText) {
+        return body != null && body.containsKey("error") ? body : Map.of("error", statusText);
+    }
 
-            return ResponseEntity.ok(
-                    accuracySessionService.analyzeAndStoreFrameStep(user.getUsername(), songId, sessionId, frameIndex, frame) // 수정된 서비스 메서드 호출
-            );
+    /**
+     * Mediapipe 기반 점수 평가 (다중 프레임 버전)
+     * - frames와 secs를 같은 순서로 여러 개 받아 Flask 한 번 호출 + 한 트랜잭션 저장
+     * - 결과는 요청 순서(sec 포함), 평가 실패 프레임은 error 포함
+     **/
+    @PostMapping(value = "/analyze-batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> analyzeAndSaveSessionBatch(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam List<Integer> secs,
+            @RequestParam Long songId,
+            @RequestParam Long sessionId,
+            @RequestPart List<MultipartFile> frames
+    ) {
+        try {
+            return ResponseEntity.ok(accuracySessionService.analyzeAndStoreFrameBatch(
+                    user.getUsername(), songId, sessionId, secs, frames));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "Failed to analyze and save session"));
+        }
+    }
+
+    /** 클라이언트에서 추출한 키포인트로 점수 평가 후 결과 저장 (Flask 호출 없이 서버 내부에서 채점) **/
+    @PostMapping(value = "/analyze-keypoints", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> analyzeKeypointsAndSave(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestBody KeypointAnalyzeRequest request
+    ) {
+        try {
+            if (request.getSec() == null || request.getSongId() == null || request.getSessionId() == null) {
+                throw new IllegalArgumentException("sec, songId, sessionId는 필수입니다.");
+            }
+
+            return ResponseEntity.ok(FrameEvaluationResponse.from(accuracySessionService.analyzeKeypointsAndStore(
+                    user.getUsername(), request.getSongId(), request.getSessionId(), request.getSec(), request.getKeypoints())));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -127,9 +202,12 @@ public class AccuracySessionController {
             // 세션 생성 (예외 발생 가능 지점)
             AccuracySession session = accuracySessionService.createAccuracySession(username, songId, "full");
 
+            FrameIndexResolver frameIndexResolver = FrameIndexResolver.of(session.getSong());
             CorrectionResponse response = new CorrectionResponse(
                     session.getId(),
-                    session.getSong().getTitle()
+                    session.getSong().getTitle(),
+                    frameIndexResolver.getFps(),
+                    frameIndexResolver.getUploadIntervalSec()
             );
 
             return ResponseEntity.ok(response);
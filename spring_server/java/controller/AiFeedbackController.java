@@ -1,17 +1,24 @@
 package capston.capston_spring.controller;
 
+import capston.capston_spring.dto.FeedbackJobStatusResponse;
 import capston.capston_spring.service.AccuracySessionService;
+import capston.capston_spring.service.FeedbackJobService;
 import capston.capston_spring.service.OpenAiService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,6 +29,7 @@ public class AiFeedbackController {
     // 세션 기반 GPT 피드백용 서비스 주입
     private final OpenAiService openAiService;
     private final AccuracySessionService accuracySessionService;
+    private final FeedbackJobService feedbackJobService;
 
 
     /**
@@ -47,12 +55,19 @@ public class AiFeedbackController {
 
     /**
      * 세션 기반 GPT 피드백 요청 엔드포인트
+     * - 세션 저장 후 백그라운드 작업이 아직 첫 실행 대기 / 처리 중이면 202 + 진행 상태 반환
+     * - 작업이 끝났으면 저장된 피드백을 바로 반환, 작업이 없거나 실패했거나 재시도 대기 중이면 요청 시 생성
      *
      * @param sessionId 세션 ID
      * @return 프레임별 피드백 리스트
      */
     @GetMapping("/api/low-score-feedback")
     public Mono<ResponseEntity<?>> getLowScoreFeedback(@RequestParam Long sessionId) {
+        Optional<FeedbackJobStatusResponse> progress = feedbackJobService.findInProgress(sessionId);
+        if (progress.isPresent()) {
+            return Mono.just(ResponseEntity.status(202).body(progress.get()));
+        }
+
         return accuracySessionService.generateLowScoreFeedback(sessionId)
                 .map(feedbacks -> {
                     if (feedbacks == null || feedbacks.isEmpty()) {
@@ -67,4 +82,40 @@ public class AiFeedbackController {
                             .body(Map.of("error", "An error occurred while processing GPT feedback: " + e.getMessage())));
                 });
     }
+
+
+    /**
+     * 세션 기반 GPT 피드백 SSE 스트리밍 엔드포인트
+     * - 프레임별 피드백을 GPT 호출이 끝나는 순서대로 "feedback" 이벤트로 전송
+     * - 모든 프레임이 끝나면 "complete" 이벤트로 종료
+     * - 백그라운드 작업이 첫 실행 대기 / 처리 중이면 "progress" 이벤트 후 종료 (완료 후 다시 요청)
+     *
+     * @param sessionId 세션 ID
+     */
+    @GetMapping(value = "/api/low-score-feedback/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamLowScoreFeedback(@RequestParam Long sessionId) {
+        Optional<FeedbackJobStatusResponse> progress = feedbackJobService.findInProgress(sessionId);
+        if (progress.isPresent()) {
+            return Flux.just(ServerSentEvent.<Object>builder(progress.get()).event("progress").build());
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        return accuracySessionService.streamLowScoreFeedback(sessionId)
+                .map(feedback -> ServerSentEvent.<Object>builder(feedback)
+                        .id(String.valueOf(feedback.getFrameIndex()))
+                        .event("feedback")
+                        .build())
+                .doOnNext(event -> count.incrementAndGet())
+                .concatWith(Mono.fromSupplier(() -> ServerSentEvent.<Object>builder(
+                                Map.of("sessionId", sessionId, "count", count.get()))
+                        .event("complete")
+                        .build()))
+                .onErrorResume(e -> {
+                    log.error("세션 기반 GPT 피드백 스트리밍 중 오류 (sessionId={}): {}", sessionId, e.getMessage(), e);
+                    return Mono.just(ServerSentEvent.<Object>builder(
+                                    Map.of("error", "An error occurred while processing GPT feedback: " + e.getMessage()))
+                            .event("error")
+                            .build());
+                });
+    }
 }
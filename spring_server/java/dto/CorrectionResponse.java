@@ -8,4 +8,6 @@ import lombok.Getter;
 public class CorrectionResponse {
     private Long sessionId;
     private String songTitle;
+    private int fps;
+    private int uploadIntervalSec; // 기준 포즈가 있는 프레임만 보내기 위한 업로드 주기 (초)
 }
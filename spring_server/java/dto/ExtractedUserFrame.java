@@ -0,0 +1,25 @@
+package capston.capston_spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+
+/** 사용자 영상에서 추출한 프레임 (JPEG 바이트 + 진행 중인 S3 업로드) **/
+@Getter
+@AllArgsConstructor
+public class ExtractedUserFrame {
+    private int frameIndex;
+    private byte[] jpegBytes;                 // GPT 피드백 요청에 바로 사용
+    private CompletableFuture<String> upload; // 완료 시 공유용 S3 URL
+    private boolean beyondVideoEnd;           // 영상 길이를 넘는 프레임 (다시 시도해도 추출 불가)
+
+    public ExtractedUserFrame(int frameIndex, byte[] jpegBytes, CompletableFuture<String> upload) {
+        this(frameIndex, jpegBytes, upload, false);
+    }
+
+    /** 영상 길이를 넘어 추출하지 않은 프레임 **/
+    public static ExtractedUserFrame beyondVideoEnd(int frameIndex) {
+        return new ExtractedUserFrame(frameIndex, null, null, true);
+    }
+}
@@ -0,0 +1,15 @@
+package capston.capston_spring.dto;
+
+import capston.capston_spring.entity.FeedbackJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 하위 점수 피드백이 아직 준비되지 않았을 때 반환하는 진행 상태 **/
+@Getter
+@AllArgsConstructor
+public class FeedbackJobStatusResponse {
+    private Long sessionId;
+    private FeedbackJobStatus status;
+    private int attempts;
+    private String lastError;
+}
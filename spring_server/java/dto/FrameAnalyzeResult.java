@@ -0,0 +1,28 @@
+package capston.capston_spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 다중 프레임 분석(/accuracy-session/analyze-batch) 결과 한 건
+ * - 요청의 secs / frames와 같은 순서로 반환되며, 어느 요청 프레임의 결과인지 sec로도 확인 가능
+ * - 평가에 실패한 프레임은 score / resultTag 없이 error만 채워지며 저장되지 않음
+ * - 업로드 주기에 맞지 않는 초는 frameIndex도 없음 (null)
+ */
+@Getter
+@AllArgsConstructor
+public class FrameAnalyzeResult {
+    private int sec;
+    private Integer frameIndex;
+    private Double score;
+    private String resultTag;
+    private String error;
+
+    public static FrameAnalyzeResult success(int sec, int frameIndex, double score, String resultTag) {
+        return new FrameAnalyzeResult(sec, frameIndex, score, resultTag, null);
+    }
+
+    public static FrameAnalyzeResult failure(int sec, Integer frameIndex, String error) {
+        return new FrameAnalyzeResult(sec, frameIndex, null, null, error);
+    }
+}
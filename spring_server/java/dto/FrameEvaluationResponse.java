@@ -0,0 +1,23 @@
+package capston.capston_spring.dto;
+
+import capston.capston_spring.entity.AccuracyFrameEvaluation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 프레임 하나의 정확도 분석 결과 (/accuracy-session/analyze, analyze-async, analyze-keypoints 응답)
+ * - 프레임 평가는 write-behind 버퍼로 나중에 저장되므로 응답 시점에는 DB id가 없음 -> 엔티티 대신 반환
+ */
+@Getter
+@AllArgsConstructor
+public class FrameEvaluationResponse {
+    private Long sessionId;
+    private int frameIndex;
+    private double score;
+    private String resultTag;
+
+    public static FrameEvaluationResponse from(AccuracyFrameEvaluation frame) {
+        return new FrameEvaluationResponse(frame.getSession().getId(), frame.getFrameIndex(),
+                frame.getScore(), frame.getResultTag());
+    }
+}
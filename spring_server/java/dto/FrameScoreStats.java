@@ -0,0 +1,9 @@
+package capston.capston_spring.dto;
+
+/** 세션별 프레임 점수 집계 (DB 집계 쿼리 projection) **/
+public interface FrameScoreStats {
+    long getFrameCount();
+    double getScoreSum();
+    Double getMinScore();
+    Double getMaxScore();
+}
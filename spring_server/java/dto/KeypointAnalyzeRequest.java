@@ -0,0 +1,18 @@
+package capston.capston_spring.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 키포인트 기반 정확도 분석 요청 (클라이언트에서 MediaPipe로 추출한 좌표)
+ * - keypoints: 12관절 × (x, y, z) = 36개, 순서는 left/right shoulder, elbow, wrist, hip, knee, ankle
+ *   (MediaPipe 원본 좌표, 정규화는 서버에서 수행 / 포즈 미검출이면 null)
+ */
+@Getter
+@Setter
+public class KeypointAnalyzeRequest {
+    private Integer sec;
+    private Long songId;
+    private Long sessionId;
+    private float[] keypoints;
+}
@@ -0,0 +1,7 @@
+package capston.capston_spring.dto;
+
+/** 세션별 resultTag 개수 (GROUP BY 쿼리 projection) **/
+public interface ResultTagCount {
+    String getResultTag();
+    long getCount();
+}
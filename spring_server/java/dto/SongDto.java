@@ -21,4 +21,6 @@ public class SongDto {
     private int fullEnd;
     private int challengeStart;
     private int challengeEnd;
+    private Integer fps;
+    private Integer referenceFrameInterval;
 }
\ No newline at end of file
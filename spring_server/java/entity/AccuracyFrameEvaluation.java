@@ -7,6 +7,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(indexes = {
+        // 세션별 하위 점수 프레임 조회(findTop5BySessionOrderByScoreAsc) / 점수 집계용
+        @Index(name = "idx_frame_eval_session_score", columnList = "session_id, score")
+})
 @Getter
 @Setter
 @NoArgsConstructor
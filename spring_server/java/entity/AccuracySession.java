@@ -44,6 +44,10 @@ public class AccuracySession {
     /** GPT 피드백 완료 여부 **/
     @Column(nullable = false)
     private boolean feedbackCompleted = false;
+
+    /** 세션 저장(saveSession) 완료 여부 - 저장된 세션에는 프레임을 더 분석하지 않음 **/
+    @Column(nullable = false)
+    private boolean closed = false;
     
     // 생성 시간 자동 저장
     @Column(nullable = false, updatable = false)
@@ -58,6 +62,39 @@ public class AccuracySession {
     @Column(nullable = false)
     private String resultLevel = "Unscored";
 
+    /** 프레임 평가 누적 집계 (프레임 저장 시 갱신 -> 요약/저장 시 전체 프레임 재조회 불필요) **/
+    @Column(nullable = false)
+    private double scoreSum = 0.0;
+
+    @Column(nullable = false)
+    private int frameCount = 0;
+
+    @Column(nullable = false)
+    private int perfectCount = 0;
+
+    @Column(nullable = false)
+    private int goodCount = 0;
+
+    @Column(nullable = false)
+    private int normalCount = 0;
+
+    @Column(nullable = false)
+    private int badCount = 0;
+
+    @Column(nullable = false)
+    private int missCount = 0;
+
+    @Column
+    private Double minScore;
+
+    @Column
+    private Double maxScore;
+
+    /** 누적 집계 기반 평균 점수 **/
+    public double getAverageFromAggregates() {
+        return frameCount == 0 ? 0.0 : scoreSum / frameCount;
+    }
+
     /** 초 단위 값을 LocalDateTime으로 변환하는 메서드 **/
     public void setStartTimeFromSeconds(int seconds) {
         this.startTime = LocalDateTime.of(1970, 1, 1, 0, 0).plusSeconds(seconds);
@@ -0,0 +1,61 @@
+package capston.capston_spring.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** 세션 저장 후 미리 계산하는 하위 점수 GPT 피드백 작업 (세션당 1개) **/
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@Table(indexes = @Index(name = "idx_feedback_job_status_next", columnList = "status, nextAttemptAt"))
+public class FeedbackJob {
+
+    /** 정확도 세션 ID (작업 ID로 그대로 사용) **/
+    @Id
+    private Long sessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private FeedbackJobStatus status = FeedbackJobStatus.PENDING;
+
+    /** 지금까지 실행한 횟수 **/
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    /** 마지막 실패 사유 **/
+    @Column(length = 1000)
+    private String lastError;
+
+    /** 다음 실행 가능 시각 (재시도 백오프) **/
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public FeedbackJob(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = now;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
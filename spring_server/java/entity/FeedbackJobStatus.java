@@ -0,0 +1,9 @@
+package capston.capston_spring.entity;
+
+/** 하위 점수 GPT 피드백 백그라운드 작업 상태 **/
+public enum FeedbackJobStatus {
+    PENDING,  // 대기 (최초 등록 / 재시도 대기)
+    RUNNING,  // 워커가 처리 중
+    DONE,     // 완료 (피드백 저장됨)
+    FAILED    // 최대 재시도 횟수 초과
+}
@@ -0,0 +1,14 @@
+package capston.capston_spring.entity;
+
+/** 프레임 평가 등급 (Flask feedback 문자열 기준, 요약 집계에 사용) **/
+public enum ResultTag {
+    PERFECT, GOOD, NORMAL, BAD, MISS;  // 그 외(Worst, 인식 실패 등)는 모두 MISS
+
+    public static ResultTag from(String feedback) {
+        if ("perfect".equalsIgnoreCase(feedback)) return PERFECT;
+        if ("good".equalsIgnoreCase(feedback)) return GOOD;
+        if ("normal".equalsIgnoreCase(feedback)) return NORMAL;
+        if ("bad".equalsIgnoreCase(feedback)) return BAD;
+        return MISS;
+    }
+}
@@ -44,6 +44,13 @@ public class Song {
     @Column
     private Integer  highlightEndTime; // 하이라이트 끝나는 시간
 
+    /** 정확도 평가 관련 필드 (null이면 fps 30, 30프레임마다 기준 키포인트) **/
+    @Column
+    private Integer fps; // 전문가 영상 fps
+
+    @Column
+    private Integer referenceFrameInterval; // 기준 키포인트 저장 간격 (영상 프레임 수)
+
     
     /** 파일 경로 관련 필드 **/
     @Column
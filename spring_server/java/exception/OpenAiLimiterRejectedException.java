@@ -0,0 +1,8 @@
+package capston.capston_spring.exception;
+
+/** 로컬 OpenAI 요청 제한기의 대기열 초과 거절 (OpenAI 응답이 아니므로 재시도하지 않음) **/
+public class OpenAiLimiterRejectedException extends OpenAiApiException {
+    public OpenAiLimiterRejectedException(String message) {
+        super(message, 429);
+    }
+}
@@ -1,8 +1,12 @@
 package capston.capston_spring.repository;
 
+import capston.capston_spring.dto.FrameScoreStats;
+import capston.capston_spring.dto.ResultTagCount;
 import capston.capston_spring.entity.AccuracyFrameEvaluation;
 import capston.capston_spring.entity.AccuracySession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -11,4 +15,22 @@ public interface AccuracyFrameEvaluationRepository extends JpaRepository<Accurac
     List<AccuracyFrameEvaluation> findBySession(AccuracySession session);
     List<AccuracyFrameEvaluation> findTop5BySessionOrderByScoreAsc(AccuracySession session);
 
+    /** 세션 점수 집계 (개수/합계/최소/최대)를 DB에서 계산 - (session_id, score) 인덱스만으로 처리 **/
+    @Query("""
+           SELECT COUNT(f) AS frameCount, COALESCE(SUM(f.score), 0) AS scoreSum,
+                  MIN(f.score) AS minScore, MAX(f.score) AS maxScore
+           FROM AccuracyFrameEvaluation f
+           WHERE f.session.id = :sessionId
+           """)
+    FrameScoreStats findScoreStatsBySessionId(@Param("sessionId") Long sessionId);
+
+    /** 세션의 resultTag별 개수 **/
+    @Query("""
+           SELECT f.resultTag AS resultTag, COUNT(f) AS count
+           FROM AccuracyFrameEvaluation f
+           WHERE f.session.id = :sessionId
+           GROUP BY f.resultTag
+           """)
+    List<ResultTagCount> countResultTagsBySessionId(@Param("sessionId") Long sessionId);
+
 }
@@ -2,6 +2,10 @@ package capston.capston_spring.repository;
 
 import capston.capston_spring.entity.AccuracySession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -11,6 +15,59 @@ public interface AccuracySessionRepository extends JpaRepository<AccuracySession
     List<AccuracySession> findByUserIdAndSongId(Long userId, Long songId);
     void deleteByUserId(Long id);
 
+    /** 새로 저장된 프레임 평가 묶음을 누적 집계에 더함 (원자적 UPDATE) **/
+    @Transactional
+    @Modifying
+    @Query("""
+           UPDATE AccuracySession s
+           SET s.scoreSum = s.scoreSum + :scoreSum,
+               s.frameCount = s.frameCount + :frameCount,
+               s.perfectCount = s.perfectCount + :perfect,
+               s.goodCount = s.goodCount + :good,
+               s.normalCount = s.normalCount + :normal,
+               s.badCount = s.badCount + :bad,
+               s.missCount = s.missCount + :miss,
+               s.minScore = CASE WHEN s.minScore IS NULL OR s.minScore > :minScore THEN :minScore ELSE s.minScore END,
+               s.maxScore = CASE WHEN s.maxScore IS NULL OR s.maxScore < :maxScore THEN :maxScore ELSE s.maxScore END
+           WHERE s.id = :id
+           """)
+    int addFrameAggregates(@Param("id") Long id,
+                           @Param("scoreSum") double scoreSum, @Param("frameCount") int frameCount,
+                           @Param("perfect") int perfect, @Param("good") int good, @Param("normal") int normal,
+                           @Param("bad") int bad, @Param("miss") int miss,
+                           @Param("minScore") double minScore, @Param("maxScore") double maxScore);
+
+    /** 프레임 평가 행으로부터 다시 계산한 집계로 덮어씀 (복구 작업용) **/
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+           UPDATE AccuracySession s
+           SET s.scoreSum = :scoreSum, s.frameCount = :frameCount,
+               s.perfectCount = :perfect, s.goodCount = :good, s.normalCount = :normal,
+               s.badCount = :bad, s.missCount = :miss,
+               s.minScore = :minScore, s.maxScore = :maxScore
+           WHERE s.id = :id
+           """)
+    int overwriteFrameAggregates(@Param("id") Long id,
+                                 @Param("scoreSum") double scoreSum, @Param("frameCount") int frameCount,
+                                 @Param("perfect") int perfect, @Param("good") int good, @Param("normal") int normal,
+                                 @Param("bad") int bad, @Param("miss") int miss,
+                                 @Param("minScore") Double minScore, @Param("maxScore") Double maxScore);
+
+    /** 세션 저장 시 평균 점수 갱신 + 종료 표시만 (엔티티 merge로 동시에 갱신된 누적 집계를 덮어쓰지 않도록) **/
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccuracySession s SET s.avg_score = :avgScore, s.closed = true WHERE s.id = :id")
+    int close(@Param("id") Long id, @Param("avgScore") double avgScore);
+
+    /** 누적 프레임 수가 실제 프레임 평가 행 수와 다른 종료된 세션 (집계 복구 대상, 진행 중인 세션은 제외) **/
+    @Query("""
+           SELECT s.id FROM AccuracySession s
+           WHERE s.closed = true
+             AND s.frameCount <> (SELECT COUNT(f) FROM AccuracyFrameEvaluation f WHERE f.session = s)
+           """)
+    List<Long> findIdsWithStaleFrameAggregates();
+
 
 
 }
\ No newline at end of file
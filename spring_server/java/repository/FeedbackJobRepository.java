@@ -0,0 +1,60 @@
+package capston.capston_spring.repository;
+
+import capston.capston_spring.entity.FeedbackJob;
+import capston.capston_spring.entity.FeedbackJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FeedbackJobRepository extends JpaRepository<FeedbackJob, Long> {
+
+    /** 실행 시각이 된 대기 작업 (재시도 포함) **/
+    List<FeedbackJob> findByStatusAndNextAttemptAtLessThanEqual(FeedbackJobStatus status, LocalDateTime now);
+
+    /** PENDING → RUNNING 전환 (다른 워커가 먼저 가져갔으면 0 반환) **/
+    @Transactional
+    @Modifying
+    @Query("""
+           UPDATE FeedbackJob j
+           SET j.status = capston.capston_spring.entity.FeedbackJobStatus.RUNNING,
+               j.attempts = j.attempts + 1,
+               j.updatedAt = :now
+           WHERE j.sessionId = :sessionId
+             AND j.status = capston.capston_spring.entity.FeedbackJobStatus.PENDING
+           """)
+    int claim(@Param("sessionId") Long sessionId, @Param("now") LocalDateTime now);
+
+    /** 작업 결과 기록 **/
+    @Transactional
+    @Modifying
+    @Query("""
+           UPDATE FeedbackJob j
+           SET j.status = :status,
+               j.lastError = :lastError,
+               j.nextAttemptAt = :nextAttemptAt,
+               j.updatedAt = :now
+           WHERE j.sessionId = :sessionId
+           """)
+    int finish(@Param("sessionId") Long sessionId,
+               @Param("status") FeedbackJobStatus status,
+               @Param("lastError") String lastError,
+               @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+               @Param("now") LocalDateTime now);
+
+    /** 서버 재시작 시 처리 중이던 작업을 다시 대기 상태로 **/
+    @Transactional
+    @Modifying
+    @Query("""
+           UPDATE FeedbackJob j
+           SET j.status = capston.capston_spring.entity.FeedbackJobStatus.PENDING,
+               j.nextAttemptAt = :now,
+               j.updatedAt = :now
+           WHERE j.status = capston.capston_spring.entity.FeedbackJobStatus.RUNNING
+           """)
+    int resetRunning(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,156 @@
+package capston.capston_spring.scoring;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 곡 하나의 바이너리 기준 포즈 파일(.dzrp)을 FileChannel.map으로 연 읽기 전용 뷰
+ * - 파싱 없이 (frameIndex - firstFrame) / frameStep 슬롯 위치를 바로 계산해 읽음 (O(1))
+ * - 절대 위치 get만 사용하므로 여러 스레드에서 동시에 읽어도 안전
+ * - 실제 데이터는 페이지 캐시에 있고 힙에는 헤더 값만 올라감
+ *
+ * 파일 형식 (little-endian, ReferencePoseConverter가 생성)
+ *   0  "DZRP" (4 bytes)
+ *   4  int version
+ *   8  int jointCount (12)
+ *  12  int firstFrame
+ *  16  int frameStep
+ *  20  int slotCount
+ *  24  int titleLength + UTF-8 곡 제목 (4바이트 정렬까지 0 패딩)
+ *   -  int[ceil(slotCount / 32)] 프레임 존재 비트맵
+ *   -  float[slotCount * jointCount * 3] 키포인트 (없는 프레임 / 관절은 NaN)
+ */
+public final class MappedReferencePoses {
+
+    static final byte[] MAGIC = {'D', 'Z', 'R', 'P'};
+    static final int VERSION = 1;
+    static final int HEADER_FIXED_SIZE = 28;
+
+    private final MappedByteBuffer buffer;
+    private final String songTitle;
+    private final int firstFrame;
+    private final int frameStep;
+    private final int slotCount;
+    private final int presenceOffset;
+    private final int dataOffset;
+
+    private MappedReferencePoses(MappedByteBuffer buffer, String songTitle, int firstFrame, int frameStep,
+                                 int slotCount, int presenceOffset, int dataOffset) {
+        this.buffer = buffer;
+        this.songTitle = songTitle;
+        this.firstFrame = firstFrame;
+        this.frameStep = frameStep;
+        this.slotCount = slotCount;
+        this.presenceOffset = presenceOffset;
+        this.dataOffset = dataOffset;
+    }
+
+    public static MappedReferencePoses open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지됨
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.capacity() < HEADER_FIXED_SIZE) {
+            throw new IOException("기준 포즈 파일이 너무 짧습니다: " + path);
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                throw new IOException("기준 포즈 바이너리 파일이 아닙니다: " + path);
+            }
+        }
+        int version = buffer.getInt(4);
+        int jointCount = buffer.getInt(8);
+        if (version != VERSION || jointCount != PoseKeypoints.JOINT_COUNT) {
+            throw new IOException("지원하지 않는 기준 포즈 파일 (version=" + version + ", joints=" + jointCount + "): " + path);
+        }
+
+        int firstFrame = buffer.getInt(12);
+        int frameStep = buffer.getInt(16);
+        int slotCount = buffer.getInt(20);
+        int titleLength = buffer.getInt(24);
+
+        byte[] title = new byte[titleLength];
+        buffer.get(HEADER_FIXED_SIZE, title);
+
+        int presenceOffset = align4(HEADER_FIXED_SIZE + titleLength);
+        int dataOffset = presenceOffset + presenceWords(slotCount) * Integer.BYTES;
+        long expectedSize = (long) dataOffset + (long) slotCount * PoseKeypoints.SIZE * Float.BYTES;
+        if (frameStep <= 0 || slotCount < 0 || buffer.capacity() != expectedSize) {
+            throw new IOException("기준 포즈 파일 크기가 헤더와 맞지 않습니다: " + path);
+        }
+
+        return new MappedReferencePoses(buffer, new String(title, StandardCharsets.UTF_8),
+                firstFrame, frameStep, slotCount, presenceOffset, dataOffset);
+    }
+
+    /** 해당 프레임의 기준 포즈 존재 여부 **/
+    public boolean contains(int frameIndex) {
+        int slot = slotOf(frameIndex);
+        return slot >= 0 && isPresent(slot);
+    }
+
+    /** 기준 포즈를 out(float[36])에 복사, 없으면 false (out은 변경하지 않음) **/
+    public boolean read(int frameIndex, float[] out) {
+        int slot = slotOf(frameIndex);
+        if (slot < 0 || !isPresent(slot)) {
+            return false;
+        }
+
+        int base = dataOffset + slot * PoseKeypoints.SIZE * Float.BYTES;
+        for (int i = 0; i < PoseKeypoints.SIZE; i++) {
+            out[i] = buffer.getFloat(base + i * Float.BYTES);
+        }
+        return true;
+    }
+
+    public boolean isPresent(int slot) {
+        int word = buffer.getInt(presenceOffset + (slot >>> 5) * Integer.BYTES);
+        return (word & (1 << (slot & 31))) != 0;
+    }
+
+    public int frameIndexOf(int slot) {
+        return firstFrame + slot * frameStep;
+    }
+
+    public String songTitle() {
+        return songTitle;
+    }
+
+    public int firstFrame() {
+        return firstFrame;
+    }
+
+    public int frameStep() {
+        return frameStep;
+    }
+
+    public int slotCount() {
+        return slotCount;
+    }
+
+    /** 프레임 번호의 슬롯 위치 (범위 밖이거나 frameStep 간격이 아니면 -1, 존재 여부는 isPresent로 확인) **/
+    public int slotOf(int frameIndex) {
+        int offset = frameIndex - firstFrame;
+        if (offset < 0 || offset % frameStep != 0) {
+            return -1;
+        }
+        int slot = offset / frameStep;
+        return slot < slotCount ? slot : -1;
+    }
+
+    static int presenceWords(int slotCount) {
+        return (slotCount + 31) >>> 5;
+    }
+
+    static int align4(int size) {
+        return (size + 3) & ~3;
+    }
+}
@@ -0,0 +1,68 @@
+package capston.capston_spring.scoring;
+
+/**
+ * 12관절 키포인트 배열 레이아웃 (float[36] = 관절 12개 × x, y, z)
+ * - 관절 순서는 Flask pose.py extract_pose_keypoints의 indices 순서와 동일
+ * - 누락된 관절 값은 NaN
+ */
+public final class PoseKeypoints {
+
+    public static final int JOINT_COUNT = 12;
+    public static final int VALUES_PER_JOINT = 3;
+    public static final int SIZE = JOINT_COUNT * VALUES_PER_JOINT;
+
+    public static final int LEFT_SHOULDER = 0;
+    public static final int RIGHT_SHOULDER = 1;
+    public static final int LEFT_ELBOW = 2;
+    public static final int RIGHT_ELBOW = 3;
+    public static final int LEFT_WRIST = 4;
+    public static final int RIGHT_WRIST = 5;
+    public static final int LEFT_HIP = 6;
+    public static final int RIGHT_HIP = 7;
+    public static final int LEFT_KNEE = 8;
+    public static final int RIGHT_KNEE = 9;
+    public static final int LEFT_ANKLE = 10;
+    public static final int RIGHT_ANKLE = 11;
+
+    /** 관절 이름 (기준 포즈 JSON 키, MediaPipe 랜드마크 11~16, 23~28) **/
+    public static final String[] JOINT_NAMES = {
+            "left_shoulder", "right_shoulder", "left_elbow", "right_elbow",
+            "left_wrist", "right_wrist", "left_hip", "right_hip",
+            "left_knee", "right_knee", "left_ankle", "right_ankle"
+    };
+
+    private PoseKeypoints() {
+    }
+
+    public static int offset(int joint) {
+        return joint * VALUES_PER_JOINT;
+    }
+
+    /**
+     * pose.py normalize_pose_keypoints와 동일한 정규화 (raw와 out이 같은 배열이어도 됨)
+     * - 양쪽 엉덩이 중점(x, y)을 원점으로 이동
+     * - 전체 관절 벡터의 L2 norm으로 나눔 (z는 이동하지 않음, norm이 0이면 1로 나눔)
+     */
+    public static void normalize(float[] raw, float[] out) {
+        double baseX = ((double) raw[offset(LEFT_HIP)] + raw[offset(RIGHT_HIP)]) / 2;
+        double baseY = ((double) raw[offset(LEFT_HIP) + 1] + raw[offset(RIGHT_HIP) + 1]) / 2;
+
+        double normSq = 0.0;
+        for (int i = 0; i < SIZE; i += VALUES_PER_JOINT) {
+            double dx = raw[i] - baseX;
+            double dy = raw[i + 1] - baseY;
+            double z = raw[i + 2];
+            normSq += dx * dx + dy * dy + z * z;
+        }
+        double l2 = Math.sqrt(normSq);
+        if (l2 == 0.0) {
+            l2 = 1.0;
+        }
+
+        for (int i = 0; i < SIZE; i += VALUES_PER_JOINT) {
+            out[i] = (float) ((raw[i] - baseX) / l2);
+            out[i + 1] = (float) ((raw[i + 1] - baseY) / l2);
+            out[i + 2] = (float) (raw[i + 2] / l2);
+        }
+    }
+}
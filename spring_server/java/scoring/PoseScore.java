@@ -0,0 +1,12 @@
+package capston.capston_spring.scoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 키포인트 채점 결과 (Flask /analyze 응답의 score / feedback과 같은 의미) **/
+@Getter
+@AllArgsConstructor
+public class PoseScore {
+    private double score;
+    private String feedback;
+}
@@ -0,0 +1,164 @@
+package capston.capston_spring.scoring;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static capston.capston_spring.scoring.PoseKeypoints.*;
+
+/**
+ * pose.py compare_pose_bdp / compare_pose_bdp_double_frame 의 JVM 구현
+ * - 입력은 정규화된 float[36] 키포인트, 계산은 double (Python float와 같은 정밀도)
+ * - 부위 순서 / 가중치 / 합산 순서를 Python과 동일하게 유지해 점수가 같게 나오도록 함
+ * - 프레임당 객체 할당 없음 (마지막 소수 둘째 자리 반올림만 BigDecimal 사용: Python round()와 동일한 결과를 내기 위함)
+ */
+public final class PoseScorer {
+
+    /** 비교 부위 (pose.py body_vectors 순서, face_direction 제외) **/
+    public static final int LIMB_COUNT = 8;
+    static final int[] LIMB_FROM = {LEFT_SHOULDER, LEFT_ELBOW, RIGHT_SHOULDER, RIGHT_ELBOW, LEFT_HIP, LEFT_KNEE, RIGHT_HIP, RIGHT_KNEE};
+    static final int[] LIMB_TO = {LEFT_ELBOW, LEFT_WRIST, RIGHT_ELBOW, RIGHT_WRIST, LEFT_KNEE, LEFT_ANKLE, RIGHT_KNEE, RIGHT_ANKLE};
+
+    private static final double PART_WEIGHT = 0.1;
+    private static final double DIRECTION_WEIGHT = 1.0;
+    private static final double CLIP_THRESHOLD = 8.0;
+    private static final double TOLERANCE_SCALE = 5.0;
+    private static final double EPSILON = 1e-6;
+
+    private static final double MOTION_MAX_ERROR = 3.0;
+    private static final double MOTION_BETA = 0.1;
+
+    private PoseScorer() {
+    }
+
+    /** compare_pose_bdp: 단일 프레임 자세 점수 (0 ~ 100, 소수 둘째 자리) **/
+    public static double scoreSingleFrame(float[] user, ReferencePose ref) {
+        double totalScore = 0.0;
+        double totalWeight = 0.0;
+
+        for (int limb = 0; limb < LIMB_COUNT; limb++) {
+            int from = offset(LIMB_FROM[limb]);
+            int to = offset(LIMB_TO[limb]);
+            double ux = (double) user[to] - user[from];
+            double uy = (double) user[to + 1] - user[from + 1];
+            double uz = (double) user[to + 2] - user[from + 2];
+
+            double partScore;
+            if (Double.isNaN(ux + uy + uz) || Double.isNaN(ref.limbNorm(limb))) {
+                partScore = 0.0;  // 관절 누락 시 0점 처리
+            } else {
+                double diffAngle = angleDifference(ux, uy, uz, ref.limbX(limb), ref.limbY(limb), ref.limbZ(limb), ref.limbNorm(limb));
+                partScore = Math.max(0, 100 - processDiff(diffAngle));
+            }
+
+            totalScore += PART_WEIGHT * partScore;
+            totalWeight += PART_WEIGHT;
+        }
+
+        // face_direction: 눈 좌표는 12관절에 없으므로 pose.py에서도 항상 0점 (가중치만 더해짐)
+        totalScore += PART_WEIGHT * 0.0;
+        totalWeight += PART_WEIGHT;
+
+        // 몸통(어깨선) 방향 점수
+        double directionScore;
+        double userAngle = shoulderAngle(user);
+        double refAngle = ref.shoulderAngle();
+        if (Double.isNaN(userAngle) || Double.isNaN(refAngle)) {
+            directionScore = 0.0;
+        } else {
+            double diffAngle = pyMod(userAngle - refAngle + 180, 360) - 180;
+            directionScore = Math.max(0, 100 - processDiff(Math.abs(diffAngle)));
+        }
+
+        totalScore += DIRECTION_WEIGHT * directionScore;
+        totalWeight += DIRECTION_WEIGHT;
+
+        return round2(totalScore / totalWeight);
+    }
+
+    /** compare_pose_bdp_double_frame: 단일 프레임 점수 + 이전 프레임 대비 움직임 방향 점수 (beta = 0.1) **/
+    public static double scoreDoubleFrame(float[] userNow, float[] userPrev, ReferencePose refNow, ReferencePose refPrev) {
+        double baseScore = scoreSingleFrame(userNow, refNow);
+
+        double motionScore = 0.0;
+        double motionWeight = 0.0;
+
+        for (int limb = 0; limb < LIMB_COUNT; limb++) {
+            int from = offset(LIMB_FROM[limb]);
+            int to = offset(LIMB_TO[limb]);
+
+            double errorSq = 0.0;
+            boolean missing = false;
+            for (int axis = 0; axis < 3; axis++) {
+                // 관절별 움직임(now - prev)을 먼저 구한 뒤 부위 벡터로 만듦 (pose.py get_motion → get_vector 순서)
+                double userVec = ((double) userNow[to + axis] - userPrev[to + axis])
+                        - ((double) userNow[from + axis] - userPrev[from + axis]);
+                double refVec = ((double) refNow.value(to + axis) - refPrev.value(to + axis))
+                        - ((double) refNow.value(from + axis) - refPrev.value(from + axis));
+                if (Double.isNaN(userVec) || Double.isNaN(refVec)) {
+                    missing = true;
+                    break;
+                }
+                double diff = userVec - refVec;
+                errorSq += diff * diff;
+            }
+            if (missing) {
+                continue;  // 관절이 없는 부위는 평가에서 제외
+            }
+
+            double error = Math.sqrt(errorSq);
+            motionScore += Math.max(0.0, (1 - error / MOTION_MAX_ERROR) * 100);
+            motionWeight += 1.0;
+        }
+
+        motionScore = motionWeight > 0 ? motionScore / motionWeight : 0.0;
+
+        double finalScore = (1 - MOTION_BETA) * baseScore + MOTION_BETA * motionScore;
+        finalScore = Math.min(finalScore, 100.0);
+        return round2(finalScore);
+    }
+
+    /** Flask /analyze와 동일한 점수 → 피드백 등급 **/
+    public static String feedbackTag(double score) {
+        if (score >= 90) return "Perfect";
+        if (score >= 80) return "Good";
+        if (score >= 75) return "Normal";
+        if (score >= 60) return "Bad";
+        return "Worst";
+    }
+
+    /** 왼쪽 → 오른쪽 어깨 벡터의 2D 각도 (degree), 어깨 누락 시 NaN **/
+    static double shoulderAngle(float[] keypoints) {
+        double dx = (double) keypoints[offset(RIGHT_SHOULDER)] - keypoints[offset(LEFT_SHOULDER)];
+        double dy = (double) keypoints[offset(RIGHT_SHOULDER) + 1] - keypoints[offset(LEFT_SHOULDER) + 1];
+        return Math.toDegrees(Math.atan2(dy, dx));
+    }
+
+    private static double angleDifference(double ux, double uy, double uz,
+                                          double rx, double ry, double rz, double refNorm) {
+        double userNorm = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        if (userNorm < EPSILON || refNorm < EPSILON) {
+            return 0.0;
+        }
+        double cosSim = (ux * rx + uy * ry + uz * rz) / (userNorm * refNorm);
+        cosSim = Math.max(-1.0, Math.min(1.0, cosSim));
+        return Math.toDegrees(Math.acos(cosSim));
+    }
+
+    private static double processDiff(double diff) {
+        return Math.max(0, (diff - CLIP_THRESHOLD) / TOLERANCE_SCALE);
+    }
+
+    /** Python float % (결과 부호가 나누는 수를 따름) **/
+    private static double pyMod(double value, double divisor) {
+        double mod = value % divisor;
+        if (mod != 0 && (divisor < 0) != (mod < 0)) {
+            mod += divisor;
+        }
+        return mod;
+    }
+
+    /** Python round(x, 2)와 동일 (double의 정확한 값 기준 half-even) **/
+    private static double round2(double value) {
+        return new BigDecimal(value).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+    }
+}
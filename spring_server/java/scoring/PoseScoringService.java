@@ -0,0 +1,86 @@
+package capston.capston_spring.scoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클라이언트가 추출한 12관절 키포인트를 JVM 안에서 채점 (Flask /analyze의 키포인트 버전)
+ * - 세션별로 직전 프레임(사용자 / 기준 포즈)을 보관해 두 번째 프레임부터 double-frame 점수 사용 (Flask deque(maxlen=2)와 동일)
+ * - 세션별 버퍼 두 개를 번갈아 쓰므로 프레임마다 배열을 새로 만들지 않음
+ * - 세션 저장 시 clearSession, 오래 사용되지 않은 세션은 주기적으로 제거
+ */
+@Service
+public class PoseScoringService {
+
+    private final ReferencePoseStore referencePoseStore;
+    private final Map<Long, SessionPoses> sessions = new ConcurrentHashMap<>();
+
+    @Value("${scoring.history.idle-timeout-ms:600000}")
+    private long idleTimeoutMs;
+
+    public PoseScoringService(ReferencePoseStore referencePoseStore) {
+        this.referencePoseStore = referencePoseStore;
+    }
+
+    /**
+     * 키포인트 채점
+     * @param rawKeypoints MediaPipe 원본 좌표 float[36] (PoseKeypoints 순서), null이면 포즈 미검출로 보고 0점
+     */
+    public PoseScore score(Long sessionId, String songTitle, int frameIndex, float[] rawKeypoints) {
+        if (rawKeypoints == null) {
+            return new PoseScore(0, PoseScorer.feedbackTag(0));  // 사용자 포즈 미검출 (점수 기반 태그와 같은 표기)
+        }
+        if (rawKeypoints.length != PoseKeypoints.SIZE) {
+            throw new IllegalArgumentException("keypoints는 " + PoseKeypoints.JOINT_COUNT + "관절 × (x, y, z) = "
+                    + PoseKeypoints.SIZE + "개 값이어야 합니다: " + rawKeypoints.length);
+        }
+
+        ReferencePose ref = referencePoseStore.find(songTitle, frameIndex)
+                .orElseThrow(() -> new IllegalArgumentException("No reference pose for frame " + frameIndex));
+
+        SessionPoses poses = sessions.computeIfAbsent(sessionId, id -> new SessionPoses());
+        synchronized (poses) {
+            PoseKeypoints.normalize(rawKeypoints, poses.userNow);
+
+            double score = poses.refPrev != null
+                    ? PoseScorer.scoreDoubleFrame(poses.userNow, poses.userPrev, ref, poses.refPrev)
+                    : PoseScorer.scoreSingleFrame(poses.userNow, ref);
+
+            poses.advance(ref);
+            return new PoseScore(score, PoseScorer.feedbackTag(score));
+        }
+    }
+
+    /** 세션 종료 시 직전 프레임 기록 제거 (Flask /save의 큐 초기화와 동일) **/
+    public void clearSession(Long sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${scoring.history.sweep-interval-ms:60000}")
+    public void evictIdleSessions() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        sessions.values().removeIf(poses -> poses.lastUsedNanos - deadline < 0);
+    }
+
+    /** 세션별 현재 / 직전 프레임 버퍼 **/
+    private static final class SessionPoses {
+        private float[] userNow = new float[PoseKeypoints.SIZE];
+        private float[] userPrev = new float[PoseKeypoints.SIZE];
+        private ReferencePose refPrev;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        /** 현재 프레임을 직전 프레임으로 (배열은 교체만 하고 새로 만들지 않음) **/
+        void advance(ReferencePose ref) {
+            float[] swap = userPrev;
+            userPrev = userNow;
+            userNow = swap;
+            refPrev = ref;
+            lastUsedNanos = System.nanoTime();
+        }
+    }
+}
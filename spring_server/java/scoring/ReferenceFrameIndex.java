@@ -0,0 +1,55 @@
+package capston.capston_spring.scoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+
+/**
+ * 곡별 기준 포즈가 있는 프레임 번호 BitSet (Flask /analyze 호출 전 사전 확인용)
+ * - Flask는 기준 포즈가 없는 frame_index에 400을 돌려주므로, 이미지를 보내기 전에 JVM 안에서 걸러냄
+ * - BitSet은 ReferencePoseStore가 곡 기준 포즈와 함께 로딩 시 생성 / 보관 (바이너리 존재 비트맵 또는 JSON 키)
+ *   → 파일 교체로 store 캐시가 제거되면 BitSet도 함께 다시 만들어짐 (별도 사본 없음)
+ * - 기준 포즈 파일이 없는 곡은 판단할 수 없으므로 그대로 통과 (Flask가 판단)
+ */
+@Component
+public class ReferenceFrameIndex {
+
+    private final ReferencePoseStore referencePoseStore;
+
+    private final Counter skipped;
+
+    public ReferenceFrameIndex(ReferencePoseStore referencePoseStore, MeterRegistry meterRegistry) {
+        this.referencePoseStore = referencePoseStore;
+        this.skipped = meterRegistry.counter("scoring.reference_frame_index.skipped");
+    }
+
+    /** 곡의 기준 포즈 / BitSet을 미리 로딩 (세션 시작 시 호출해 첫 프레임 지연 방지) **/
+    public void warm(String songTitle) {
+        frameSet(songTitle);
+    }
+
+    /** 기준 포즈가 있거나 판단할 수 없으면 true **/
+    public boolean isScorable(String songTitle, int frameIndex) {
+        BitSet set = frameSet(songTitle);
+        if (set == null || (frameIndex >= 0 && set.get(frameIndex))) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    /** 기준 포즈가 없는 프레임이면 IllegalArgumentException (Flask 400 응답과 같은 메시지) **/
+    public void requireScorable(String songTitle, int frameIndex) {
+        if (!isScorable(songTitle, frameIndex)) {
+            throw new IllegalArgumentException("No reference pose for frame " + frameIndex);
+        }
+    }
+
+    private BitSet frameSet(String songTitle) {
+        // 파일이 없으면 ReferencePoseStore가 없음 캐시(TTL)로 파일 확인 / 로그 반복을 막고,
+        // 이후 파일이 배포되면 TTL이 지난 뒤 자동으로 BitSet 생성
+        return referencePoseStore.frameIndices(songTitle).orElse(null);
+    }
+}
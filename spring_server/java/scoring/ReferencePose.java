@@ -0,0 +1,67 @@
+package capston.capston_spring.scoring;
+
+/**
+ * 전문가 기준 포즈 한 프레임 (정규화된 키포인트 + 미리 계산한 부위 방향 벡터)
+ * - 부위 벡터 / 길이 / 어깨 방향 각도는 로딩 시 한 번만 계산해 프레임마다 다시 구하지 않음
+ * - 관절이 누락된 부위는 벡터가 NaN
+ */
+public final class ReferencePose {
+
+    private final float[] keypoints;
+    private final double[] limbVectors = new double[PoseScorer.LIMB_COUNT * 3];
+    private final double[] limbNorms = new double[PoseScorer.LIMB_COUNT];
+    private final double shoulderAngle;
+
+    private ReferencePose(float[] keypoints) {
+        this.keypoints = keypoints;
+        for (int limb = 0; limb < PoseScorer.LIMB_COUNT; limb++) {
+            int from = PoseKeypoints.offset(PoseScorer.LIMB_FROM[limb]);
+            int to = PoseKeypoints.offset(PoseScorer.LIMB_TO[limb]);
+            double x = (double) keypoints[to] - keypoints[from];
+            double y = (double) keypoints[to + 1] - keypoints[from + 1];
+            double z = (double) keypoints[to + 2] - keypoints[from + 2];
+            limbVectors[limb * 3] = x;
+            limbVectors[limb * 3 + 1] = y;
+            limbVectors[limb * 3 + 2] = z;
+            limbNorms[limb] = Math.sqrt(x * x + y * y + z * z);
+        }
+        this.shoulderAngle = PoseScorer.shoulderAngle(keypoints);
+    }
+
+    /** 정규화된 키포인트(float[36], 누락 관절은 NaN)로 생성 - 배열은 복사하지 않으므로 이후 수정하지 말 것 **/
+    public static ReferencePose of(float[] keypoints) {
+        if (keypoints.length != PoseKeypoints.SIZE) {
+            throw new IllegalArgumentException("키포인트 배열 길이는 " + PoseKeypoints.SIZE + "이어야 합니다: " + keypoints.length);
+        }
+        return new ReferencePose(keypoints);
+    }
+
+    float value(int index) {
+        return keypoints[index];
+    }
+
+    double limbX(int limb) {
+        return limbVectors[limb * 3];
+    }
+
+    double limbY(int limb) {
+        return limbVectors[limb * 3 + 1];
+    }
+
+    double limbZ(int limb) {
+        return limbVectors[limb * 3 + 2];
+    }
+
+    double limbNorm(int limb) {
+        return limbNorms[limb];
+    }
+
+    double shoulderAngle() {
+        return shoulderAngle;
+    }
+
+    /** 키포인트 복사본 (바이너리 변환 등 외부 사용용) **/
+    public float[] copyKeypoints() {
+        return keypoints.clone();
+    }
+}
@@ -0,0 +1,189 @@
+package capston.capston_spring.scoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 기준 포즈 JSON(*_ref_pose_filtered_1sec_normalized.json) → 바이너리(.dzrp) 변환기
+ * - 프레임 번호 간격(frameStep)은 전체 프레임 번호 차이의 최대공약수
+ * - 임시 파일에 쓴 뒤 이동하므로 매핑 중인 파일이 중간 상태로 보이지 않음
+ *
+ * 단독 실행: java -cp <classpath> capston.capston_spring.scoring.ReferencePoseConverter <ref_poses 디렉토리> [출력 디렉토리]
+ * (변환하면서 JSON 파싱 / 바이너리 매핑 시간과 크기를 함께 출력)
+ */
+public final class ReferencePoseConverter {
+
+    public static final String JSON_SUFFIX = "_ref_pose_filtered_1sec_normalized.json";
+    public static final String BINARY_SUFFIX = ".dzrp";
+
+    private ReferencePoseConverter() {
+    }
+
+    /** JSON → 프레임 번호별 float[36] (누락된 관절은 NaN) **/
+    public static Map<Integer, float[]> readJson(ObjectMapper objectMapper, Path path) throws IOException {
+        JsonNode root = objectMapper.readTree(path.toFile());
+        Map<Integer, float[]> frames = new HashMap<>();
+
+        Iterator<Map.Entry<String, JsonNode>> entries = root.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            float[] keypoints = new float[PoseKeypoints.SIZE];
+            for (int joint = 0; joint < PoseKeypoints.JOINT_COUNT; joint++) {
+                JsonNode point = entry.getValue().get(PoseKeypoints.JOINT_NAMES[joint]);
+                int offset = PoseKeypoints.offset(joint);
+                keypoints[offset] = coordinate(point, "x");
+                keypoints[offset + 1] = coordinate(point, "y");
+                keypoints[offset + 2] = coordinate(point, "z");
+            }
+            frames.put(Integer.parseInt(entry.getKey()), keypoints);
+        }
+        return frames;
+    }
+
+    /** JSON 파일을 읽어 바이너리 파일로 저장 **/
+    public static void convert(ObjectMapper objectMapper, Path json, Path binary, String songTitle) throws IOException {
+        writeBinary(binary, songTitle, readJson(objectMapper, json));
+    }
+
+    public static void writeBinary(Path binary, String songTitle, Map<Integer, float[]> frames) throws IOException {
+        int[] frameIndices = frames.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int firstFrame = frameIndices.length > 0 ? frameIndices[0] : 0;
+        int frameStep = 0;
+        for (int i = 1; i < frameIndices.length; i++) {
+            frameStep = gcd(frameStep, frameIndices[i] - frameIndices[0]);
+        }
+        if (frameStep == 0) {
+            frameStep = 1;
+        }
+        int slotCount = frameIndices.length > 0 ? (frameIndices[frameIndices.length - 1] - firstFrame) / frameStep + 1 : 0;
+
+        byte[] title = songTitle.getBytes(StandardCharsets.UTF_8);
+        int presenceOffset = MappedReferencePoses.align4(MappedReferencePoses.HEADER_FIXED_SIZE + title.length);
+        int presenceWords = MappedReferencePoses.presenceWords(slotCount);
+        int dataOffset = presenceOffset + presenceWords * Integer.BYTES;
+        long size = (long) dataOffset + (long) slotCount * PoseKeypoints.SIZE * Float.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("기준 포즈 파일이 너무 큽니다 (frames=" + frameIndices.length + ", step=" + frameStep + ")");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MappedReferencePoses.MAGIC);
+        buffer.putInt(MappedReferencePoses.VERSION);
+        buffer.putInt(PoseKeypoints.JOINT_COUNT);
+        buffer.putInt(firstFrame);
+        buffer.putInt(frameStep);
+        buffer.putInt(slotCount);
+        buffer.putInt(title.length);
+        buffer.put(title);
+
+        int[] presence = new int[presenceWords];
+        float[] empty = new float[PoseKeypoints.SIZE];
+        Arrays.fill(empty, Float.NaN);
+        for (int slot = 0; slot < slotCount; slot++) {
+            float[] keypoints = frames.get(firstFrame + slot * frameStep);
+            if (keypoints != null) {
+                presence[slot >>> 5] |= 1 << (slot & 31);
+            }
+            buffer.position(dataOffset + slot * PoseKeypoints.SIZE * Float.BYTES);
+            for (float value : keypoints != null ? keypoints : empty) {
+                buffer.putFloat(value);
+            }
+        }
+        buffer.position(presenceOffset);
+        for (int word : presence) {
+            buffer.putInt(word);
+        }
+        buffer.position(0);
+
+        Path parent = binary.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, binary.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, binary, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** 디렉토리의 모든 기준 포즈 JSON을 변환하고 JSON 파싱 / 바이너리 매핑 비용을 비교 출력 **/
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: ReferencePoseConverter <ref_poses dir> [output dir]");
+            System.exit(1);
+        }
+        Path inputDir = Paths.get(args[0]);
+        Path outputDir = args.length > 1 ? Paths.get(args[1]) : inputDir;
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (DirectoryStream<Path> jsonFiles = Files.newDirectoryStream(inputDir, "*" + JSON_SUFFIX)) {
+            for (Path json : jsonFiles) {
+                String fileName = json.getFileName().toString();
+                String songTitle = fileName.substring(0, fileName.length() - JSON_SUFFIX.length());
+                Path binary = outputDir.resolve(songTitle + BINARY_SUFFIX);
+
+                long heapBefore = usedHeap();
+                long parseStart = System.nanoTime();
+                Map<Integer, float[]> frames = readJson(objectMapper, json);
+                long parseNanos = System.nanoTime() - parseStart;
+                long parsedHeap = usedHeap() - heapBefore;
+
+                writeBinary(binary, songTitle, frames);
+
+                long mapStart = System.nanoTime();
+                MappedReferencePoses mapped = MappedReferencePoses.open(binary);
+                float[] scratch = new float[PoseKeypoints.SIZE];
+                for (int frame : frames.keySet()) {
+                    mapped.read(frame, scratch);
+                }
+                long mapNanos = System.nanoTime() - mapStart;
+
+                System.out.printf("%s: frames=%d, step=%d, json=%d bytes (parse %.1f ms, ~%d KB heap), binary=%d bytes (map + read all %.1f ms)%n",
+                        songTitle, frames.size(), mapped.frameStep(), Files.size(json), parseNanos / 1e6, parsedHeap / 1024,
+                        Files.size(binary), mapNanos / 1e6);
+            }
+        }
+    }
+
+    private static float coordinate(JsonNode point, String axis) {
+        if (point == null || !point.hasNonNull(axis)) {
+            return Float.NaN;
+        }
+        return (float) point.get(axis).asDouble();
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return Math.abs(a);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,249 @@
+package capston.capston_spring.scoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 전문가 기준 포즈 저장소
+ * - 기본: 바이너리 파일({scoring.ref-pose-binary-dir}/{곡 제목}.dzrp)을 메모리 매핑해 파싱 없이 O(1) 조회
+ * - 바이너리가 없거나 JSON보다 오래됐으면 Flask와 같은 JSON 파일에서 바로 변환 후 매핑
+ *   ({scoring.ref-pose-dir}/{곡 제목}_ref_pose_filtered_1sec_normalized.json)
+ * - 변환 파일을 쓸 수 없는 환경이면 JSON을 파싱해 힙에 보관 (이전 방식)
+ * - 매핑된 슬롯은 처음 조회할 때 ReferencePose로 한 번만 만들어 재사용 (조회마다 할당하지 않음)
+ * - 변환 / 파싱은 캐시 맵의 compute 밖에서 곡별 lock으로 한 번만 실행 (다른 곡 조회를 막지 않음)
+ * - 파일이 없는 곡은 missing-ttl-ms 동안 없음으로 캐시하고 오류 로그는 처음 한 번만 남김
+ *   (프레임마다 파일 존재 확인 / 로그가 반복되지 않도록, evict 또는 TTL 이후 다시 확인)
+ * - 기준 포즈가 있는 프레임 BitSet(ReferenceFrameIndex용)도 곡 캐시에 함께 보관해 evict 시 같이 제거
+ * - reload-check-ms마다 캐시된 곡의 JSON / 바이너리 수정 시각을 로딩 당시와 비교해 바뀐 곡은 evict
+ */
+@Component
+public class ReferencePoseStore {
+    private static final Logger log = LoggerFactory.getLogger(ReferencePoseStore.class);
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, SongPoses> cache = new ConcurrentHashMap<>();
+    private final Map<String, Object> loadLocks = new ConcurrentHashMap<>();
+    // 기준 포즈를 찾지 못한 곡 -> 다시 확인할 시각 (System.nanoTime 기준)
+    private final Map<String, Long> missing = new ConcurrentHashMap<>();
+
+    @Value("${scoring.ref-pose-dir:./ref_poses}")
+    private String refPoseDir;
+
+    @Value("${scoring.ref-pose-binary-dir:${scoring.ref-pose-dir:./ref_poses}}")
+    private String refPoseBinaryDir;
+
+    // 기준 포즈가 없는 곡을 다시 확인하기까지의 시간
+    @Value("${scoring.ref-pose-missing-ttl-ms:60000}")
+    private long missingTtlMs;
+
+    public ReferencePoseStore(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /** 곡의 특정 프레임 기준 포즈 (파일 또는 프레임이 없으면 empty) **/
+    public Optional<ReferencePose> find(String songTitle, int frameIndex) {
+        SongPoses poses = songPoses(songTitle);
+        return poses == null ? Optional.empty() : Optional.ofNullable(poses.find(frameIndex));
+    }
+
+    /** 곡의 메모리 매핑된 기준 포즈 (바이너리를 사용할 수 없으면 empty) **/
+    public Optional<MappedReferencePoses> mapped(String songTitle) {
+        SongPoses poses = songPoses(songTitle);
+        return poses != null ? Optional.ofNullable(poses.mapped) : Optional.empty();
+    }
+
+    /** 곡의 기준 포즈가 있는 프레임 번호 집합 (파일이 없으면 empty, 읽기 전용) - ReferenceFrameIndex에서 사용 **/
+    Optional<BitSet> frameIndices(String songTitle) {
+        SongPoses poses = songPoses(songTitle);
+        return poses != null ? Optional.of(poses.frames) : Optional.empty();
+    }
+
+    /** 곡의 기준 포즈 캐시 제거 (파일 교체 / 배포 후 다시 읽도록, 프레임 BitSet / 없음 캐시도 함께 제거) **/
+    public void evict(String songTitle) {
+        cache.remove(songTitle);
+        missing.remove(songTitle);
+    }
+
+    /** 캐시된 곡 중 JSON / 바이너리가 로딩 이후 바뀐 곡을 제거 (다음 조회 때 다시 변환 / 매핑) **/
+    @Scheduled(fixedDelayString = "${scoring.ref-pose-reload-check-ms:60000}")
+    public void evictModified() {
+        cache.forEach((songTitle, poses) -> {
+            if (poses.isModified(jsonPath(songTitle), binaryPath(songTitle))) {
+                // 그 사이 다시 로딩된 항목은 지우지 않도록 같은 인스턴스일 때만 제거
+                if (cache.remove(songTitle, poses)) {
+                    log.info("기준 포즈 파일 변경 감지, 캐시 제거 (song={})", songTitle);
+                }
+            }
+        });
+    }
+
+    private SongPoses songPoses(String songTitle) {
+        SongPoses poses = cache.get(songTitle);
+        if (poses != null) {
+            return poses;
+        }
+
+        if (isKnownMissing(songTitle)) {
+            return null;
+        }
+
+        // 같은 곡을 동시에 처음 조회하면 한 스레드만 변환 / 파싱하고 나머지는 결과를 기다림
+        synchronized (loadLocks.computeIfAbsent(songTitle, title -> new Object())) {
+            poses = cache.get(songTitle);
+            if (poses != null || isKnownMissing(songTitle)) {
+                return poses;
+            }
+
+            poses = load(songTitle);
+            if (poses != null) {
+                cache.put(songTitle, poses);
+                missing.remove(songTitle);
+            } else {
+                // 없음으로 캐시 (TTL 이후 파일이 배포됐는지 다시 확인), 로그는 처음 한 번만
+                Long previous = missing.put(songTitle, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(missingTtlMs));
+                if (previous == null) {
+                    log.error("Reference pose unavailable for {} ({}ms 후 다시 확인)", songTitle, missingTtlMs);
+                }
+            }
+            return poses;
+        }
+    }
+
+    private boolean isKnownMissing(String songTitle) {
+        Long recheckAt = missing.get(songTitle);
+        return recheckAt != null && recheckAt - System.nanoTime() > 0;
+    }
+
+    private Path jsonPath(String songTitle) {
+        return Paths.get(refPoseDir, songTitle + ReferencePoseConverter.JSON_SUFFIX);
+    }
+
+    private Path binaryPath(String songTitle) {
+        return Paths.get(refPoseBinaryDir, songTitle + ReferencePoseConverter.BINARY_SUFFIX);
+    }
+
+    /** 파일 수정 시각 (없거나 읽을 수 없으면 null) **/
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private SongPoses load(String songTitle) {
+        Path json = jsonPath(songTitle);
+        Path binary = binaryPath(songTitle);
+
+        try {
+            if (Files.exists(json) && (!Files.exists(binary)
+                    || Files.getLastModifiedTime(binary).compareTo(Files.getLastModifiedTime(json)) < 0)) {
+                ReferencePoseConverter.convert(objectMapper, json, binary, songTitle);
+                log.info("기준 포즈 바이너리 변환 완료 (song={}, file={})", songTitle, binary);
+            }
+            if (Files.exists(binary)) {
+                MappedReferencePoses mapped = MappedReferencePoses.open(binary);
+                log.info("기준 포즈 매핑 완료 (song={}, slots={}, step={})", songTitle, mapped.slotCount(), mapped.frameStep());
+                return new SongPoses(mapped, null, lastModified(json), lastModified(binary));
+            }
+        } catch (IOException e) {
+            log.warn("기준 포즈 바이너리 사용 불가, JSON으로 대체 (song={}): {}", songTitle, e.getMessage());
+        }
+
+        if (!Files.exists(json)) {
+            return null;  // 로그는 songPoses에서 처음 한 번만 (없음 캐시)
+        }
+
+        try {
+            Map<Integer, ReferencePose> frames = new HashMap<>();
+            ReferencePoseConverter.readJson(objectMapper, json)
+                    .forEach((frame, keypoints) -> frames.put(frame, ReferencePose.of(keypoints)));
+            log.info("기준 포즈 로딩 완료 (song={}, frames={})", songTitle, frames.size());
+            return new SongPoses(null, Collections.unmodifiableMap(frames), lastModified(json), lastModified(binary));
+        } catch (IOException e) {
+            log.error("Error decoding JSON from {}: {}", json, e.getMessage());
+            return null;
+        }
+    }
+
+    /** 곡 하나의 기준 포즈 (매핑된 바이너리 또는 JSON 파싱 결과 중 하나) **/
+    private static final class SongPoses {
+        private final MappedReferencePoses mapped;
+        private final Map<Integer, ReferencePose> parsed;
+        // 매핑된 슬롯별로 처음 조회할 때 만든 ReferencePose (부위 벡터 계산 포함)
+        private final AtomicReferenceArray<ReferencePose> decoded;
+        // 기준 포즈가 있는 프레임 번호 (로딩 시 한 번 생성, 이후 읽기만 함)
+        private final BitSet frames;
+        // 로딩 당시 파일 수정 시각 (없던 파일은 null) - evictModified에서 비교
+        private final FileTime jsonModified;
+        private final FileTime binaryModified;
+
+        SongPoses(MappedReferencePoses mapped, Map<Integer, ReferencePose> parsed,
+                  FileTime jsonModified, FileTime binaryModified) {
+            this.mapped = mapped;
+            this.parsed = parsed;
+            this.decoded = mapped != null ? new AtomicReferenceArray<>(mapped.slotCount()) : null;
+            this.frames = frameIndices();
+            this.jsonModified = jsonModified;
+            this.binaryModified = binaryModified;
+        }
+
+        boolean isModified(Path json, Path binary) {
+            return !Objects.equals(jsonModified, lastModified(json))
+                    || !Objects.equals(binaryModified, lastModified(binary));
+        }
+
+        ReferencePose find(int frameIndex) {
+            if (mapped == null) {
+                return parsed.get(frameIndex);
+            }
+            int slot = mapped.slotOf(frameIndex);
+            if (slot < 0 || !mapped.isPresent(slot)) {
+                return null;
+            }
+
+            ReferencePose pose = decoded.get(slot);
+            if (pose == null) {
+                float[] keypoints = new float[PoseKeypoints.SIZE];
+                mapped.read(frameIndex, keypoints);
+                // 동시에 만든 경우 먼저 저장된 인스턴스를 사용 (내용은 같음)
+                ReferencePose created = ReferencePose.of(keypoints);
+                pose = decoded.compareAndSet(slot, null, created) ? created : decoded.get(slot);
+            }
+            return pose;
+        }
+
+        private BitSet frameIndices() {
+            BitSet frames = new BitSet();
+            if (mapped == null) {
+                parsed.keySet().stream().filter(frame -> frame >= 0).forEach(frames::set);
+                return frames;
+            }
+            for (int slot = 0; slot < mapped.slotCount(); slot++) {
+                if (mapped.isPresent(slot)) {
+                    frames.set(mapped.frameIndexOf(slot));
+                }
+            }
+            return frames;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package capston.capston_spring.service;
+
+import capston.capston_spring.repository.AccuracySessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 정확도 세션 누적 집계 복구 작업
+ * - 누적 프레임 수와 실제 프레임 평가 행 수가 다른 종료된 세션을 찾아 프레임 행으로부터 집계를 다시 계산
+ *   (진행 중인 세션은 버퍼에 남은 프레임 때문에 잠시 다를 수 있으므로 제외)
+ */
+@Component
+@RequiredArgsConstructor
+public class AccuracyAggregateRepairJob {
+    private static final Logger log = LoggerFactory.getLogger(AccuracyAggregateRepairJob.class);
+
+    private final AccuracySessionRepository accuracySessionRepository;
+    private final AccuracySessionService accuracySessionService;
+
+    @Scheduled(cron = "${accuracy.aggregate-repair.cron:0 30 4 * * *}")
+    public void repairStaleAggregates() {
+        List<Long> staleSessionIds = accuracySessionRepository.findIdsWithStaleFrameAggregates();
+        if (staleSessionIds.isEmpty()) {
+            return;
+        }
+
+        log.info("누적 집계 복구 대상 세션 {}개: {}", staleSessionIds.size(), staleSessionIds);
+        for (Long sessionId : staleSessionIds) {
+            try {
+                accuracySessionService.rebuildFrameAggregates(sessionId);
+            } catch (Exception e) {
+                log.error("세션 {} 누적 집계 복구 실패: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package capston.capston_spring.service;
+
+import capston.capston_spring.entity.AccuracySession;
+import capston.capston_spring.utils.FrameIndexResolver;
+
+/**
+ * 정확도 세션 진행 중에 바뀌지 않는 값 (AccuracySessionContextCache에 보관)
+ * - frameIndexResolver: 곡의 fps / 기준 프레임 간격으로 만든 초 → 프레임 번호 변환기
+ * - session: 프레임 평가 엔티티 연결용 (detached, 세션 id만 insert에 사용)
+ */
+public record AccuracySessionContext(
+        Long sessionId,
+        Long userId,
+        String username,
+        Long songId,
+        String songTitle,
+        FrameIndexResolver frameIndexResolver,
+        String mode,
+        AccuracySession session
+) {
+    public static AccuracySessionContext of(AccuracySession session) {
+        return new AccuracySessionContext(
+                session.getId(),
+                session.getUser().getId(),
+                session.getUser().getUsername(),
+                session.getSong().getId(),
+                session.getSong().getTitle(),
+                FrameIndexResolver.of(session.getSong()),
+                session.getMode(),
+                session);
+    }
+}
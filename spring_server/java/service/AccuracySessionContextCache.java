@@ -0,0 +1,99 @@
+package capston.capston_spring.service;
+
+import capston.capston_spring.entity.AccuracySession;
+import capston.capston_spring.repository.AccuracySessionRepository;
+import capston.capston_spring.utils.BlockingCallGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 진행 중인 정확도 세션의 사용자 / 곡 / 세션 정보 캐시 (sessionId 기준)
+ * - createAccuracySession에서 등록, saveSession에서 제거, 오래 사용되지 않은 세션은 주기적으로 제거
+ * - 프레임 분석마다 하던 사용자 / 곡 / 세션 조회(select 3회)를 없애고 insert만 남김
+ * - 캐시에 없는 세션(서버 재시작 등)은 DB에서 한 번 읽어 등록 (이미 저장된 세션은 등록하지 않음)
+ */
+@Component
+public class AccuracySessionContextCache {
+
+    private final AccuracySessionRepository accuracySessionRepository;
+    private final Map<Long, Entry> contexts = new ConcurrentHashMap<>();
+
+    @Value("${accuracy.session-context.idle-timeout-ms:3600000}")
+    private long idleTimeoutMs;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public AccuracySessionContextCache(AccuracySessionRepository accuracySessionRepository, MeterRegistry meterRegistry) {
+        this.accuracySessionRepository = accuracySessionRepository;
+
+        this.hits = meterRegistry.counter("accuracy.session_context.hits");
+        this.misses = meterRegistry.counter("accuracy.session_context.misses");
+        meterRegistry.gaugeMapSize("accuracy.session_context.sessions", List.of(), contexts);
+    }
+
+    /** 세션 생성 시 등록 **/
+    public AccuracySessionContext put(AccuracySession session) {
+        AccuracySessionContext context = AccuracySessionContext.of(session);
+        contexts.put(session.getId(), new Entry(context));
+        return context;
+    }
+
+    /** 캐시에 있는 경우만 반환 (DB 조회 없음) **/
+    public Optional<AccuracySessionContext> getIfPresent(Long sessionId) {
+        Entry entry = contexts.get(sessionId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        hits.increment();
+        entry.touch();
+        return Optional.of(entry.context);
+    }
+
+    /** 캐시에 없으면 DB에서 세션을 읽어 등록 (블로킹, 저장이 끝난 세션이면 IllegalArgumentException) **/
+    public AccuracySessionContext getOrLoad(Long sessionId) {
+        return getIfPresent(sessionId).orElseGet(() -> {
+            BlockingCallGuard.assertBlockingAllowed("정확도 세션 조회");
+            misses.increment();
+            AccuracySession session = accuracySessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionId));
+            if (session.isClosed()) {
+                throw new IllegalArgumentException("Session already saved: " + sessionId);
+            }
+            return put(session);
+        });
+    }
+
+    /** 세션 종료 시 제거 **/
+    public void evict(Long sessionId) {
+        contexts.remove(sessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${accuracy.session-context.sweep-interval-ms:60000}")
+    public void evictIdleSessions() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        contexts.values().removeIf(entry -> entry.lastUsedNanos - deadline < 0);
+    }
+
+    private static final class Entry {
+        private final AccuracySessionContext context;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        Entry(AccuracySessionContext context) {
+            this.context = context;
+        }
+
+        void touch() {
+            lastUsedNanos = System.nanoTime();
+        }
+    }
+}
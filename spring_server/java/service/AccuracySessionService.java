@@ -1,10 +1,15 @@
 package capston.capston_spring.service;
 
 import capston.capston_spring.dto.AccuracySessionSummaryResponse;
+import capston.capston_spring.dto.ExtractedUserFrame;
+import capston.capston_spring.dto.FrameAnalyzeResult;
+import capston.capston_spring.dto.FrameScoreStats;
 import capston.capston_spring.dto.LowScoreFeedbackResponse;
+import capston.capston_spring.dto.ResultTagCount;
 import capston.capston_spring.entity.AccuracyFrameEvaluation;
 import capston.capston_spring.entity.AccuracySession;
 import capston.capston_spring.entity.AppUser;
+import capston.capston_spring.entity.ResultTag;
 import capston.capston_spring.entity.Song;
 import capston.capston_spring.exception.SessionNotFoundException;
 import capston.capston_spring.exception.SongNotFoundException;
@@ -12,29 +17,43 @@ import capston.capston_spring.repository.AccuracyFrameEvaluationRepository;
 import capston.capston_spring.repository.AccuracySessionRepository;
 import capston.capston_spring.repository.SongRepository;
 import capston.capston_spring.repository.UserRepository;
+import capston.capston_spring.scoring.PoseScore;
+import capston.capston_spring.scoring.PoseScoringService;
+import capston.capston_spring.scoring.ReferenceFrameIndex;
+import capston.capston_spring.utils.BlockingCallGuard;
+import capston.capston_spring.utils.FrameIndexResolver;
 import capston.capston_spring.utils.MultipartInputStreamFileResource;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import software.amazon.awssdk.services.s3.S3Client;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
 @Service
@@ -44,6 +63,8 @@ public class AccuracySessionService {
 
     private final AccuracySessionRepository accuracySessionRepository;
     private final AccuracyFrameEvaluationRepository frameEvaluationRepository;
+    private final FrameEvaluationWriteBuffer frameEvaluationWriteBuffer;
+    private final AccuracySessionContextCache sessionContextCache;
     private final SongRepository songRepository;
     private final UserRepository userRepository;
 
@@ -56,10 +77,34 @@ public class AccuracySessionService {
     // GPT 호출용 OpenAiService 주입
     private final OpenAiService openAiService;
     private final VideoService videoService;
+    private final ExpertFrameCache expertFrameCache;
+
+    // Flask 호출용 커넥션 풀 기반 RestTemplate (FlaskClientConfig)
+    private final RestTemplate flaskRestTemplate;
+
+    // 비동기 분석 경로용 Flask WebClient + JPA 작업 전용 scheduler
+    private final WebClient flaskWebClient;
+    private final Scheduler accuracyDbScheduler;
+    private final Scheduler feedbackScheduler;
+    private final Scheduler imagePreprocessScheduler;
+    private final FeedbackResultWriter feedbackResultWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PoseScoringService poseScoringService;
+    private final ReferenceFrameIndex referenceFrameIndex;
+    private final FrameImagePreprocessor frameImagePreprocessor;
 
     @Value("${flask.api.analyze}")
     private String flaskAnalyzeUrl;
 
+    // 다중 프레임 분석용 Flask 엔드포인트 (기본값: analyze URL + "_batch")
+    @Value("${flask.api.analyze-batch:${flask.api.analyze}_batch}")
+    private String flaskAnalyzeBatchUrl;
+
+    // /analyze-batch 한 번에 받을 수 있는 최대 프레임 수
+    @Value("${accuracy.batch.max-frames:30}")
+    private int maxBatchFrames;
+
     @Value("${flask.api.clean}")
     private String flaskCleanUrl;
 
@@ -83,6 +128,24 @@ public class AccuracySessionService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
     }
 
+    /**
+     * 진행 중인 세션의 사용자 / 곡 정보 조회 (캐시 우선, 없으면 DB에서 한 번 읽음)
+     * - 다른 사용자의 세션이거나 요청한 곡이 세션의 곡과 다르면 IllegalArgumentException
+     **/
+    private AccuracySessionContext getSessionContext(String username, Long sessionId, Long songId) {
+        return checkSession(sessionContextCache.getOrLoad(sessionId), username, songId);
+    }
+
+    private static AccuracySessionContext checkSession(AccuracySessionContext context, String username, Long songId) {
+        if (!context.username().equals(username)) {
+            throw new IllegalArgumentException("Session " + context.sessionId() + " does not belong to user: " + username);
+        }
+        if (!context.songId().equals(songId)) {
+            throw new IllegalArgumentException("Session " + context.sessionId() + " is not for song: " + songId);
+        }
+        return context;
+    }
+
     /**
      * 특정 사용자(username)의 정확도 세션 조회
      **/
@@ -111,27 +174,37 @@ public class AccuracySessionService {
      * 사용자가 플레이한 게임에 대한 결과(session info) 저장
      **/
     public Object saveSession(Long sessionId) {
-        AccuracySession session = accuracySessionRepository.findById(sessionId)
-                .orElseThrow(() -> new SessionNotFoundException("해당 세션이 존재하지 않습니다."));
-
+        // 1~2. 세션 락 안에서 종료 표시 + 버퍼 flush 후 누적 집계로 평균 점수 확정
+        //      (종료 표시 이후의 프레임 추가는 거절되므로 평균 계산 뒤에 집계가 바뀌지 않음)
+        frameEvaluationWriteBuffer.withSessionLock(sessionId, () -> {
+            if (!accuracySessionRepository.existsById(sessionId)) {
+                throw new SessionNotFoundException("해당 세션이 존재하지 않습니다.");
+            }
+            frameEvaluationWriteBuffer.close(sessionId);
+            AccuracySession session = accuracySessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new SessionNotFoundException("해당 세션이 존재하지 않습니다."));
 
-        // 1. 해당 세션의 모든 프레임 평가 가져오기
-        List<AccuracyFrameEvaluation> evaluations = frameEvaluationRepository.findBySession(session);
+            // 누적 집계가 비어 있으면 (집계 도입 전 세션 등) 프레임 행으로부터 복구 - 불일치는 AccuracyAggregateRepairJob이 처리
+            if (session.getFrameCount() == 0) {
+                session = rebuildFrameAggregates(sessionId);
+            }
 
-        // 2. 평균 점수 계산
-        double avg = evaluations.stream()
-                .mapToDouble(AccuracyFrameEvaluation::getScore)
-                .average()
-                .orElse(0.0);  // 점수가 없을 경우 0.0
+            // 누적 집계로 평균 점수 계산 (점수가 없을 경우 0.0) - 평균 점수 + 종료 표시만 UPDATE
+            // (종료 후에는 캐시에서 제거돼도 getOrLoad가 세션을 다시 등록하지 않음)
+            accuracySessionRepository.close(sessionId, session.getAverageFromAggregates());
+            return session;
+        });
 
-        session.setAvg_score(avg);
+        // 키포인트 채점용 직전 프레임 기록 / 세션 컨텍스트 제거 (Flask /save의 큐 초기화에 해당)
+        poseScoringService.clearSession(sessionId);
+        sessionContextCache.evict(sessionId);
 
-        accuracySessionRepository.save(session);
+        // 3. 하위 점수 GPT 피드백을 백그라운드에서 미리 생성 (FeedbackJobService)
+        eventPublisher.publishEvent(new FeedbackJobRequestedEvent(sessionId));
 
-        RestTemplate rt = new RestTemplate();
         try {
             log.info("Flask /save 호출 시작 (sessionId={})", sessionId);
-            rt.postForEntity(flaskCleanUrl, null, String.class);
+            flaskRestTemplate.postForEntity(flaskCleanUrl, null, String.class);
             log.info("Flask /save 호출 성공");
         } catch (Exception e) {
             log.error("Flask /save 호출 실패: {}", e.getMessage());
@@ -143,49 +216,250 @@ public class AccuracySessionService {
     /**
      * 정확도 분석 후 결과 저장 (Flask 연동 유지)
      **/
-    public AccuracyFrameEvaluation analyzeAndStoreFrameStep(String username, Long songId, Long sessionId, Integer frameIndex, MultipartFile image) throws IOException {
-        AppUser user = getUserByUsername(username);
-        Song song = getSongById(songId);
-
-        AccuracySession session = accuracySessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionId));
+    public AccuracyFrameEvaluation analyzeAndStoreFrameStep(String username, Long songId, Long sessionId, Integer sec, MultipartFile image) throws IOException {
+        AccuracySessionContext context = getSessionContext(username, sessionId, songId);
+        int frameIndex = context.frameIndexResolver().toFrameIndex(sec);
+        referenceFrameIndex.requireScorable(context.songTitle(), frameIndex);  // 기준 포즈 없는 프레임은 업로드 전에 400
 
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-        body.add("frame", new MultipartInputStreamFileResource(image.getInputStream(), image.getOriginalFilename()));// 0415 "image" → "frame"
-        body.add("song_title", song.getTitle());
+        body.add("frame", toFramePart(image));// 0415 "image" → "frame"
+        body.add("song_title", context.songTitle());
         body.add("session_id", sessionId);
         body.add("frame_index", frameIndex);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
         HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
-        RestTemplate rt = new RestTemplate();
-        ResponseEntity<Map> response = rt.postForEntity(flaskAnalyzeUrl, request, Map.class);
+        ResponseEntity<Map> response = flaskRestTemplate.postForEntity(flaskAnalyzeUrl, request, Map.class);
 
         // Flask 응답 전체 로그 출력
         log.info(" Flask 응답 상태: {}", response.getStatusCode());
         log.info(" Flask 응답 헤더: {}", response.getHeaders());
         log.info(" Flask 응답 본문: {}", response.getBody());
 
-        Map responseBody = response.getBody();
-        if (!response.getStatusCode().is2xxSuccessful() || responseBody == null ||
-                !responseBody.containsKey("score") || !responseBody.containsKey("feedback")) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RuntimeException("Flask 응답 오류: 상태 코드 " + response.getStatusCode());
+        }
+
+        AccuracyFrameEvaluation frame = toFrameEvaluation(context.session(), frameIndex, response.getBody());
+        frameEvaluationWriteBuffer.add(frame);  // write-behind (batch insert)
+        return frame;
+    }
+
+    /**
+     * 정확도 분석 후 결과 저장 (비동기 버전)
+     * - Flask 호출은 WebClient로 논블로킹 처리, JPA 조회/저장은 bounded scheduler에서 실행
+     * - 요청 스레드 수와 무관하게 동시에 처리 중인 프레임 수를 늘릴 수 있음
+     **/
+    public Mono<AccuracyFrameEvaluation> analyzeAndStoreFrameStepAsync(String username, Long songId, Long sessionId, Integer sec, MultipartFile image) {
+        // 캐시에 있으면 scheduler 전환 없이 바로 사용, 없을 때만 DB 조회
+        return Mono.justOrEmpty(sessionContextCache.getIfPresent(sessionId))
+                .switchIfEmpty(Mono.fromCallable(() -> sessionContextCache.getOrLoad(sessionId))
+                        .subscribeOn(accuracyDbScheduler))
+                .map(context -> checkSession(context, username, songId))
+                .flatMap(ctx -> {
+                    int frameIndex = ctx.frameIndexResolver().toFrameIndex(sec);
+                    if (!referenceFrameIndex.isScorable(ctx.songTitle(), frameIndex)) {
+                        return Mono.error(new IllegalArgumentException("No reference pose for frame " + frameIndex));
+                    }
+
+                    // 이미지 디코딩 / 축소 / 재인코딩은 CPU 작업이므로 DB scheduler나 Netty 스레드가 아닌 전용 scheduler에서 실행
+                    return Mono.fromCallable(() -> Optional.ofNullable(frameImagePreprocessor.preprocess(image)))  // 비활성화 / 원본 사용 시 empty
+                            .subscribeOn(imagePreprocessScheduler)
+                            .flatMap(resized -> {
+                                MultipartBodyBuilder body = new MultipartBodyBuilder();
+                                if (resized.isPresent()) {
+                                    byte[] bytes = resized.get();
+                                    body.part("frame", new MultipartInputStreamFileResource(
+                                                    new ByteArrayInputStream(bytes), image.getOriginalFilename(), bytes.length))
+                                            .contentType(MediaType.IMAGE_JPEG);
+                                } else {
+                                    body.part("frame", image.getResource())
+                                            .contentType(image.getContentType() != null
+                                                    ? MediaType.parseMediaType(image.getContentType())
+                                                    : MediaType.IMAGE_JPEG);
+                                }
+                                body.part("song_title", ctx.songTitle());
+                                body.part("session_id", String.valueOf(sessionId));
+                                body.part("frame_index", String.valueOf(frameIndex));
+
+                                return flaskWebClient.post()
+                                        .uri(flaskAnalyzeUrl)
+                                        .contentType(MediaType.MULTIPART_FORM_DATA)
+                                        .body(BodyInserters.fromMultipartData(body.build()))
+                                        .retrieve()
+                                        .bodyToMono(Map.class)
+                                        .doOnNext(responseBody -> log.info(" Flask 응답 본문 (async): {}", responseBody))
+                                        .map(responseBody -> toFrameEvaluation(ctx.session(), frameIndex, responseBody));
+                            });
+                })
+                .publishOn(accuracyDbScheduler)
+                .map(frame -> {
+                    frameEvaluationWriteBuffer.add(frame);  // write-behind (batch insert)
+                    return frame;
+                });
+    }
+
+    /**
+     * 정확도 분석 후 결과 저장 (다중 프레임 버전)
+     * - 세션 컨텍스트 조회와 Flask 호출을 묶음당 한 번만 수행
+     * - frameIndex 오름차순으로 정렬해 보내므로 Flask의 모션(double frame) 평가 순서가 유지됨
+     * - 업로드 주기에 맞지 않는 초 / 기준 포즈가 없는 프레임은 Flask로 보내지 않고 결과에 error로 포함
+     * - 평가 성공한 프레임만 한 트랜잭션으로 저장, 실패한 프레임은 결과에 error로 포함
+     * - 결과는 요청의 secs / frames 순서 그대로 반환 (Flask 전송 순서와 무관)
+     * - Flask가 응답한 뒤에는 모션 평가용 이전 프레임이 이미 갱신됐으므로, 저장 실패 시에도 같은 묶음을 재전송하면 안 됨
+     **/
+    public List<FrameAnalyzeResult> analyzeAndStoreFrameBatch(String username, Long songId, Long sessionId,
+                                                              List<Integer> secs, List<MultipartFile> images) throws IOException {
+        if (images == null || images.isEmpty() || secs == null || secs.size() != images.size()) {
+            throw new IllegalArgumentException("frames와 secs의 개수가 같아야 합니다.");
+        }
+        if (images.size() > maxBatchFrames) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxBatchFrames + "개 프레임까지 분석할 수 있습니다.");
+        }
+
+        AccuracySessionContext context = getSessionContext(username, sessionId, songId);
+        FrameIndexResolver resolver = context.frameIndexResolver();
+
+        // 업로드 주기에 맞지 않는 초는 묶음 전체를 실패시키지 않고 해당 프레임만 error (frameIndex 없음)
+        Integer[] frameIndices = new Integer[images.size()];
+        for (int i = 0; i < frameIndices.length; i++) {
+            if (resolver.isOnCadence(secs.get(i))) {
+                frameIndices[i] = resolver.toFrameIndex(secs.get(i));
+            }
+        }
+
+        List<Integer> order = IntStream.range(0, images.size()).boxed()
+                .filter(i -> frameIndices[i] != null)
+                .sorted(Comparator.comparing(i -> frameIndices[i]))
+                .toList();
+
+        List<Integer> scorable = order.stream()
+                .filter(i -> referenceFrameIndex.isScorable(context.songTitle(), frameIndices[i]))
+                .toList();
+
+        // 입력 순번 -> Flask 결과 (기준 포즈가 없어 보내지 않은 프레임은 null)
+        Map<?, ?>[] results = new Map<?, ?>[images.size()];
+        if (!scorable.isEmpty()) {
+            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+            for (int i : scorable) {
+                body.add("frames", toFramePart(images.get(i)));
+                body.add("frame_indices", frameIndices[i]);
+            }
+            body.add("song_title", context.songTitle());
+            body.add("session_id", sessionId);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+            ResponseEntity<Map> response = flaskRestTemplate.postForEntity(flaskAnalyzeBatchUrl, new HttpEntity<>(body, headers), Map.class);
+
+            log.info(" Flask 응답 상태 (batch): {}", response.getStatusCode());
+
+            Object flaskResults = response.getBody() != null ? response.getBody().get("results") : null;
+            if (!response.getStatusCode().is2xxSuccessful() || !(flaskResults instanceof List<?> resultList) || resultList.size() != scorable.size()) {
+                throw new RuntimeException("Flask 응답 오류 (batch): " + response.getStatusCode() + " - 응답 내용: " + response.getBody());
+            }
+            for (int i = 0; i < scorable.size(); i++) {
+                results[scorable.get(i)] = (Map<?, ?>) resultList.get(i);
+            }
+        }
+
+        // 결과는 요청 순서대로, 저장은 frameIndex 순서대로
+        FrameAnalyzeResult[] analyzed = new FrameAnalyzeResult[images.size()];
+        List<AccuracyFrameEvaluation> frames = new ArrayList<>(order.size());
+        for (int i : order) {
+            int sec = secs.get(i);
+            int frameIndex = frameIndices[i];
+            Map<?, ?> result = results[i];
+
+            if (result == null) {
+                analyzed[i] = FrameAnalyzeResult.failure(sec, frameIndex, "No reference pose for frame " + frameIndex);
+                continue;
+            }
+            if (result.containsKey("error") || !result.containsKey("score") || !result.containsKey("feedback")) {
+                log.warn("프레임 평가 실패 (sessionId={}, frameIndex={}): {}", sessionId, frameIndex, result);
+                analyzed[i] = FrameAnalyzeResult.failure(sec, frameIndex,
+                        result.containsKey("error") ? String.valueOf(result.get("error")) : "Invalid analyze result");
+                continue;
+            }
+
+            double score = ((Number) result.get("score")).doubleValue();
+            String resultTag = (String) result.get("feedback");
+            frames.add(toFrameEvaluation(context.session(), frameIndex, score, resultTag));
+            analyzed[i] = FrameAnalyzeResult.success(sec, frameIndex, score, resultTag);
+        }
+        for (int i = 0; i < analyzed.length; i++) {
+            if (frameIndices[i] == null) {
+                analyzed[i] = FrameAnalyzeResult.failure(secs.get(i), null,
+                        "sec는 " + resolver.getUploadIntervalSec() + "초 간격이어야 합니다: " + secs.get(i));
+            }
+        }
+
+        frameEvaluationWriteBuffer.writeNow(sessionId, frames);  // 묶음 단위 한 트랜잭션 저장
+        return Arrays.asList(analyzed);
+    }
+
+    /**
+     * 정확도 분석 후 결과 저장 (키포인트 버전)
+     * - 클라이언트가 추출한 12관절 키포인트를 PoseScoringService로 JVM 안에서 채점 (Flask 호출 없음)
+     * - 이미지만 보내는 클라이언트는 기존 /analyze (Flask) 경로 사용
+     **/
+    public AccuracyFrameEvaluation analyzeKeypointsAndStore(String username, Long songId, Long sessionId, Integer sec, float[] keypoints) {
+        AccuracySessionContext context = getSessionContext(username, sessionId, songId);
+        int frameIndex = context.frameIndexResolver().toFrameIndex(sec);
+
+        PoseScore result = poseScoringService.score(sessionId, context.songTitle(), frameIndex, keypoints);
+
+        AccuracyFrameEvaluation frame = toFrameEvaluation(context.session(), frameIndex, result.getScore(), result.getFeedback());
+        frameEvaluationWriteBuffer.add(frame);  // write-behind (batch insert)
+        return frame;
+    }
+
+    /** Flask /analyze 응답 -> 프레임 평가 엔티티 변환 **/
+    private AccuracyFrameEvaluation toFrameEvaluation(AccuracySession session, Integer frameIndex, Map responseBody) {
+        if (responseBody == null || !responseBody.containsKey("score") || !responseBody.containsKey("feedback")) {
             throw new RuntimeException("Flask 응답 오류: 필수 필드 누락 ('score' 또는 'feedback') - 응답 내용: " + responseBody);
         }
 
         double accuracyScore = ((Number) responseBody.get("score")).doubleValue();
         String resultTag = (String) responseBody.get("feedback");
+        return toFrameEvaluation(session, frameIndex, accuracyScore, resultTag);
+    }
 
+    private AccuracyFrameEvaluation toFrameEvaluation(AccuracySession session, Integer frameIndex, double accuracyScore, String resultTag) {
         AccuracyFrameEvaluation frame = new AccuracyFrameEvaluation();
         frame.setSession(session);
         frame.setFrameIndex(frameIndex);
         frame.setScore(accuracyScore);
         frame.setResultTag(resultTag);
-
-        return frameEvaluationRepository.save(frame);
+        return frame;
     }
 
 
+    /**
+     * 업로드된 프레임을 Flask 요청의 multipart part로 변환
+     * - 전처리(flask.preprocess.enabled)가 켜져 있으면 축소 + 재인코딩한 JPEG 전송
+     * - 그 외에는 크기를 알고 있으므로 contentLength를 그대로 넘겨 힙 복사 / 청크 인코딩 없이 스트리밍
+     **/
+    private HttpEntity<MultipartInputStreamFileResource> toFramePart(MultipartFile image) throws IOException {
+        byte[] resized = frameImagePreprocessor.preprocess(image);
+        if (resized != null) {
+            HttpHeaders partHeaders = new HttpHeaders();
+            partHeaders.setContentType(MediaType.IMAGE_JPEG);
+            return new HttpEntity<>(new MultipartInputStreamFileResource(
+                    new ByteArrayInputStream(resized), image.getOriginalFilename(), resized.length), partHeaders);
+        }
+
+        HttpHeaders partHeaders = new HttpHeaders();
+        partHeaders.setContentType(image.getContentType() != null
+                ? MediaType.parseMediaType(image.getContentType())
+                : MediaType.IMAGE_JPEG);
+
+        MultipartInputStreamFileResource resource = new MultipartInputStreamFileResource(
+                image.getInputStream(), image.getOriginalFilename(), image.getSize());
+        return new HttpEntity<>(resource, partHeaders);
+    }
+
     /**
      * 곡 제목으로 실루엣 + 가이드 영상 경로 반환
      **/
@@ -223,119 +497,283 @@ public class AccuracySessionService {
         session.setEndTime(now);
 
         accuracySessionRepository.save(session);
+        sessionContextCache.put(session);  // 프레임 분석 중 사용자 / 곡 재조회 방지
+        referenceFrameIndex.warm(song.getTitle());  // 기준 포즈 프레임 BitSet 미리 생성
 
         return session;
     }
 
 
-    /** gpt요청 병렬 호출 **/
+    /** gpt요청 병렬 호출 - 모든 프레임이 끝난 뒤 하위 점수 순서대로 반환 **/
     public Mono<List<LowScoreFeedbackResponse>> generateLowScoreFeedback(Long sessionId) {
+        return lowScoreFeedbackResults(sessionId)
+                .collectSortedList(Comparator.comparingInt(FrameFeedbackResult::order))
+                .map(results -> results.stream()
+                        .map(FrameFeedbackResult::response)
+                        .collect(Collectors.toList()));
+    }
+
+    /** gpt요청 병렬 호출 - 프레임별 피드백을 완료되는 순서대로 바로 발행 (SSE 스트리밍용) **/
+    public Flux<LowScoreFeedbackResponse> streamLowScoreFeedback(Long sessionId) {
+        return lowScoreFeedbackResults(sessionId)
+                .map(FrameFeedbackResult::response);
+    }
+
+    /**
+     * 하위 점수 프레임 피드백 파이프라인
+     * - 세션 / 프레임 조회, 영상 추출, DB 저장 같은 블로킹 작업은 모두 feedbackScheduler에서 실행
+     * - GPT 응답은 Netty 이벤트 루프에서 도착하므로 마지막 저장은 publishOn으로 feedbackScheduler에서 실행
+     * - 저장은 호출자 구독과 별도로 구독되므로 SSE 연결이 끊겨도 이미 받은 GPT 결과는 저장됨
+     **/
+    private Flux<FrameFeedbackResult> lowScoreFeedbackResults(Long sessionId) {
+        return Flux.defer(() -> prepareLowScoreFeedback(sessionId))
+                .subscribeOn(feedbackScheduler);
+    }
+
+    private Flux<FrameFeedbackResult> prepareLowScoreFeedback(Long sessionId) {
+        BlockingCallGuard.assertBlockingAllowed("하위 점수 피드백 준비");
         AccuracySession session = accuracySessionRepository.findById(sessionId)
                 .orElseThrow(() -> new SessionNotFoundException("Session not found: " + sessionId));
 
+        frameEvaluationWriteBuffer.flush(sessionId);
+
         String songTitle = session.getSong().getTitle();
         Long userId = session.getUser().getId();
         String mode = session.getMode();
 
         String userVideoKey = VIDEO_STORAGE_DIR + userId + "_ACCURACY_" + mode + "_" + sessionId + ".mp4";
-        int totalFrames = videoService.getTotalFrameCount(userVideoKey);
 
         List<AccuracyFrameEvaluation> lowScoreFrames =
                 frameEvaluationRepository.findTop5BySessionOrderByScoreAsc(session);
 
-        List<AccuracyFrameEvaluation> validFrames = lowScoreFrames.stream()
-                .filter(f -> f.getFrameIndex() < totalFrames)
-                .collect(Collectors.toList());
-
-        List<Integer> frameIndices = validFrames.stream()
+        List<Integer> frameIndices = lowScoreFrames.stream()
                 .map(AccuracyFrameEvaluation::getFrameIndex)
                 .collect(Collectors.toList());
 
         if (frameIndices.isEmpty()) {
             log.warn("세션 {} → 추출할 프레임이 존재하지 않음 (하위 점수 프레임 없음)", sessionId);
-            return Mono.just(List.of());  // 빈 피드백 리스트 반환
+            return Flux.empty();  // 빈 피드백 리스트 반환
+        }
+
+        // 이미 피드백이 완료된 세션은 저장된 결과만으로 응답 (S3 / OpenAI 호출 없음)
+        if (session.isFeedbackCompleted()) {
+            return Flux.range(0, lowScoreFrames.size())
+                    .map(order -> FrameFeedbackResult.persisted(order,
+                            persistedFeedbackResponse(lowScoreFrames.get(order), songTitle, userId, sessionId)));
         }
 
+        // 이전 요청에서 피드백이 저장된 프레임은 영상 추출 대상에서 제외
+        List<Integer> pendingIndices = lowScoreFrames.stream()
+                .filter(frame -> frame.getGptFeedback() == null)
+                .map(AccuracyFrameEvaluation::getFrameIndex)
+                .collect(Collectors.toList());
 
-        Map<Integer, String> userImageMap = videoService.extractAndUploadMultipleFrames(
-                userVideoKey, frameIndices, sessionId, mode, userId);
+        // 같은 곡의 하위 점수 구간은 사용자 간에 반복되므로 전문가 프레임 캐시를 곡 단위로 미리 적재
+        expertFrameCache.warmSong(songTitle);
+
+        // 영상은 한 번만 내려받아 총 프레임 수 확인 + 추출 (영상 길이를 넘는 프레임은 beyondVideoEnd로 표시됨)
+        Map<Integer, ExtractedUserFrame> userFrames = pendingIndices.isEmpty()
+                ? Map.of()
+                : videoService.extractAndUploadMultipleFrames(userVideoKey, pendingIndices, sessionId, mode, userId);
+
+        boolean noFrameInRange = userFrames.values().stream().allMatch(ExtractedUserFrame::isBeyondVideoEnd);
+        if (noFrameInRange && pendingIndices.size() == lowScoreFrames.size()) {
+            log.warn("세션 {} → 영상 범위 안에 있는 하위 점수 프레임 없음", sessionId);
+            return Flux.empty();
+        }
+
+        List<Mono<FrameFeedbackResult>> monoList = IntStream.range(0, lowScoreFrames.size())
+                .mapToObj(order -> {
+                    AccuracyFrameEvaluation frame = lowScoreFrames.get(order);
+                    if (frame.getGptFeedback() != null) {
+                        return Mono.just(FrameFeedbackResult.persisted(order,
+                                persistedFeedbackResponse(frame, songTitle, userId, sessionId)));
+                    }
 
-        List<Mono<LowScoreFeedbackResponse>> monoList = lowScoreFrames.stream()
-                .map(frame -> {
                     int frameIndex = frame.getFrameIndex();
-                    String paddedFrame = String.format("%04d", frameIndex);
-                    String expertImagePath = "https://" + BUCKET_NAME + ".s3.ap-northeast-2.amazonaws.com/"
-                            + EXPERT_FRAMES_DIR + songTitle + "/" + paddedFrame + ".jpg";
-                    String userImagePath = userImageMap.get(frameIndex);
+                    String expertImagePath = getExpertFrameUrl(songTitle, frameIndex);
+                    ExtractedUserFrame userFrame = userFrames.get(frameIndex);
+
+                    // 영상 길이를 넘는 프레임은 다시 시도해도 추출할 수 없으므로 처리 완료로 간주
+                    if (userFrame != null && userFrame.isBeyondVideoEnd()) {
+                        return Mono.just(FrameFeedbackResult.skipped(order, new LowScoreFeedbackResponse(
+                                frameIndex,
+                                List.of("영상 길이를 넘는 프레임이라 피드백 생략됨"),
+                                null,
+                                expertImagePath
+                        )));
+                    }
 
-                    if (userImagePath == null) {
-                        return Mono.just(new LowScoreFeedbackResponse(
+                    if (userFrame == null) {
+                        return Mono.just(FrameFeedbackResult.failed(order, new LowScoreFeedbackResponse(
                                 frameIndex,
-                                List.of("사용자 이미지 업로드 실패로 피드백 생략됨"),
+                                List.of("사용자 이미지 추출 실패로 피드백 생략됨"),
                                 null,
                                 expertImagePath
-                        ));
+                        )));
                     }
 
-                    return openAiService.getDanceImageFeedback(userImagePath, expertImagePath)
-                            .map(feedback -> {
-                                frame.setGptFeedback(feedback);
-                                frameEvaluationRepository.save(frame);
-
-                                AtomicInteger idx = new AtomicInteger(1);
-                                List<String> top3 = Arrays.stream(feedback.split("\n"))
-                                        .map(String::trim)
-                                        .filter(s -> !s.isBlank())
-                                        .limit(3)
-                                        .map(s -> idx.getAndIncrement() + ". " + s)
-                                        .collect(Collectors.toList());
-
-                                return new LowScoreFeedbackResponse(frameIndex, top3, userImagePath, expertImagePath);
-                            })
+                    // S3 업로드는 공유 URL 용도로만 병렬 진행 (실패 시 URL 없이 응답)
+                    Mono<Optional<String>> userImageUrl = Mono.fromFuture(userFrame.getUpload(), true)
+                            .map(Optional::of)
+                            .onErrorReturn(Optional.empty());
+
+                    // 방금 인코딩한 프레임 바이트를 그대로 GPT 요청에 사용 (S3 재다운로드 없음)
+                    // 저장은 모든 프레임 결과를 모은 뒤 한 번에 수행
+                    return openAiService.getDanceImageFeedback(userFrame.getJpegBytes(), expertImagePath)
+                            .zipWith(userImageUrl)
+                            .map(result -> FrameFeedbackResult.generated(order, frame.getId(), result.getT1(),
+                                    new LowScoreFeedbackResponse(frameIndex, toTop3Lines(result.getT1()),
+                                            result.getT2().orElse(null), expertImagePath)))
                             .onErrorResume(e -> {
                                 log.error("GPT 피드백 생성 실패 (Frame {}): {}", frameIndex, e.getMessage());
-                                return Mono.just(new LowScoreFeedbackResponse(
+                                return userImageUrl.map(url -> FrameFeedbackResult.failed(order, new LowScoreFeedbackResponse(
                                         frameIndex,
                                         List.of("GPT feedback failed - " + e.getMessage()),
-                                        userImagePath,
+                                        url.orElse(null),
                                         expertImagePath
-                                ));
+                                )));
                             });
                 })
                 .collect(Collectors.toList());
 
-        return Mono.zip(monoList, results -> {
-            session.setFeedbackCompleted(true);
-            accuracySessionRepository.save(session);
-            return Arrays.stream(results)
-                    .map(r -> (LowScoreFeedbackResponse) r)
-                    .collect(Collectors.toList());
-        });
+        // 완료되는 순서대로 발행하고, 모든 프레임이 끝나면 결과를 한 트랜잭션으로 저장
+        // - GPT 호출과 저장은 여기서 직접 구독해 시작 (호출자가 취소해도 중단되지 않음)
+        // - 호출자는 캐시된 결과를 받고, 저장이 끝난 뒤 완료 신호를 받음 (저장 실패도 그대로 전달)
+        Flux<FrameFeedbackResult> results = Flux.merge(monoList).cache();
+        Mono<Void> saved = results.collectList()
+                .publishOn(feedbackScheduler)
+                .doOnNext(collected -> saveFeedbackResults(sessionId, collected))
+                .then()
+                .cache();
+        saved.subscribe(null, e -> log.error("GPT 피드백 저장 실패 (sessionId={}): {}", sessionId, e.getMessage()));
+
+        return results.concatWith(saved.then(Mono.<FrameFeedbackResult>empty()));
     }
 
+    /** 피드백 저장 + 완료 표시를 한 트랜잭션으로 (일부 실패 시 완료로 표시하지 않음) **/
+    private void saveFeedbackResults(Long sessionId, List<FrameFeedbackResult> results) {
+        Map<Long, String> newFeedback = new LinkedHashMap<>();
+        boolean allCompleted = true;
+        for (FrameFeedbackResult result : results) {
+            if (result.feedback() != null) {
+                newFeedback.put(result.frameId(), result.feedback());
+            }
+            allCompleted &= result.completed();
+        }
+
+        feedbackResultWriter.save(sessionId, newFeedback, allCompleted);
+    }
+
+    /**
+     * 프레임 하나의 피드백 처리 결과
+     * - feedback: 이번 요청에서 새로 받은 GPT 응답 (저장 대상, 없으면 null)
+     * - completed: 이 프레임을 더 이상 처리할 필요가 없는지 여부 (피드백 저장됨 / 영상 범위 밖)
+     * - order: 하위 점수 순위 (완료 순서와 무관하게 목록 응답을 정렬할 때 사용)
+     **/
+    private record FrameFeedbackResult(int order, LowScoreFeedbackResponse response, Long frameId, String feedback, boolean completed) {
 
+        static FrameFeedbackResult persisted(int order, LowScoreFeedbackResponse response) {
+            return new FrameFeedbackResult(order, response, null, null, true);
+        }
+
+        static FrameFeedbackResult generated(int order, Long frameId, String feedback, LowScoreFeedbackResponse response) {
+            return new FrameFeedbackResult(order, response, frameId, feedback, true);
+        }
+
+        /** 영상 범위 밖이라 피드백을 만들 수 없는 프레임 (재시도 대상 아님) **/
+        static FrameFeedbackResult skipped(int order, LowScoreFeedbackResponse response) {
+            return new FrameFeedbackResult(order, response, null, null, true);
+        }
+
+        static FrameFeedbackResult failed(int order, LowScoreFeedbackResponse response) {
+            return new FrameFeedbackResult(order, response, null, null, false);
+        }
+    }
+
+    /** 저장된 GPT 피드백으로 응답 생성 (사용자 프레임 URL은 업로드 키 규칙으로 복원) **/
+    private LowScoreFeedbackResponse persistedFeedbackResponse(AccuracyFrameEvaluation frame, String songTitle,
+                                                               Long userId, Long sessionId) {
+        int frameIndex = frame.getFrameIndex();
+        String feedback = frame.getGptFeedback();
+
+        return new LowScoreFeedbackResponse(
+                frameIndex,
+                feedback != null ? toTop3Lines(feedback) : List.of("저장된 피드백 없음"),
+                videoService.getUserFrameUrl(userId, sessionId, frameIndex),
+                getExpertFrameUrl(songTitle, frameIndex)
+        );
+    }
+
+    private String getExpertFrameUrl(String songTitle, int frameIndex) {
+        return "https://" + BUCKET_NAME + ".s3.ap-northeast-2.amazonaws.com/"
+                + EXPERT_FRAMES_DIR + songTitle + "/" + String.format("%04d", frameIndex) + ".jpg";
+    }
+
+    /** GPT 응답에서 비어 있지 않은 앞 3줄을 번호를 붙여 반환 **/
+    private List<String> toTop3Lines(String feedback) {
+        AtomicInteger idx = new AtomicInteger(1);
+        return Arrays.stream(feedback.split("\n"))
+                .map(String::trim)
+                .filter(s -> !s.isBlank())
+                .limit(3)
+                .map(s -> idx.getAndIncrement() + ". " + s)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 프레임 평가 행으로부터 세션 누적 집계를 다시 계산 (세션 저장 / 복구 작업 / 집계 누락 세션용)
+     **/
+    public AccuracySession rebuildFrameAggregates(Long sessionId) {
+        // 세션 락 + 한 트랜잭션 안에서 읽고 덮어씀 (그 사이에 커밋된 insert의 집계 증가분이 덮어써지지 않도록)
+        FrameScoreStats stats = frameEvaluationWriteBuffer.withSessionLock(sessionId, () -> {
+            frameEvaluationWriteBuffer.flush(sessionId);
+            return transactionTemplate.execute(status -> {
+                // 엔티티를 읽지 않고 DB 집계 쿼리 결과만 사용
+                FrameScoreStats current = frameEvaluationRepository.findScoreStatsBySessionId(sessionId);
+                Map<ResultTag, Integer> tagCounts = new EnumMap<>(ResultTag.class);
+                for (ResultTagCount tagCount : frameEvaluationRepository.countResultTagsBySessionId(sessionId)) {
+                    tagCounts.merge(ResultTag.from(tagCount.getResultTag()), (int) tagCount.getCount(), Integer::sum);
+                }
+
+                accuracySessionRepository.overwriteFrameAggregates(sessionId,
+                        current.getScoreSum(), (int) current.getFrameCount(),
+                        tagCounts.getOrDefault(ResultTag.PERFECT, 0), tagCounts.getOrDefault(ResultTag.GOOD, 0),
+                        tagCounts.getOrDefault(ResultTag.NORMAL, 0), tagCounts.getOrDefault(ResultTag.BAD, 0),
+                        tagCounts.getOrDefault(ResultTag.MISS, 0),
+                        current.getMinScore(), current.getMaxScore());
+                return current;
+            });
+        });
+
+        log.info("세션 {} 누적 집계 재계산 완료 (frames={})", sessionId, stats.getFrameCount());
+        return accuracySessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Accuracy session not found for sessionId: " + sessionId));
+    }
 
     // 0515 정확도 요약 응답 생성 메서드
     public AccuracySessionSummaryResponse getAccuracySummary(Long sessionId) {
         try {
+            // 버퍼에 남은 프레임 평가를 먼저 저장해야 누적 집계가 최신 상태가 됨
+            frameEvaluationWriteBuffer.flush(sessionId);
+
             AccuracySession session = accuracySessionRepository.findById(sessionId)
                     .orElseThrow(() -> new IllegalArgumentException("Accuracy session not found for sessionId: " + sessionId));
 
-            List<AccuracyFrameEvaluation> frames = frameEvaluationRepository.findBySession(session);
+            // 누적 집계가 비어 있으면 (집계 도입 전 세션 등) 프레임 행으로부터 복구 시도
+            if (session.getFrameCount() == 0) {
+                session = rebuildFrameAggregates(sessionId);
+            }
 
-            if (frames == null || frames.isEmpty()) {
+            if (session.getFrameCount() == 0) {
                 throw new IllegalStateException("No frame evaluations found for sessionId: " + sessionId);
             }
 
-            int perfect = 0, good = 0, normal = 0, bad = 0, miss = 0;
-            for (AccuracyFrameEvaluation frame : frames) {
-                String feedback = frame.getResultTag();
-                if ("perfect".equalsIgnoreCase(feedback)) perfect++;
-                else if ("good".equalsIgnoreCase(feedback)) good++;
-                else if ("normal".equalsIgnoreCase(feedback)) normal++;
-                else if ("bad".equalsIgnoreCase(feedback)) bad++;
-                else miss++;
-            }
+            int perfect = session.getPerfectCount();
+            int good = session.getGoodCount();
+            int normal = session.getNormalCount();
+            int bad = session.getBadCount();
+            int miss = session.getMissCount();
 
             // 수정된 점수 → 등급 변환 로직
             int totalFrames = perfect + good + normal + bad + miss;
@@ -0,0 +1,168 @@
+package capston.capston_spring.service;
+
+import capston.capston_spring.utils.BlockingCallGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 전문가 기준 프레임(expert_frames/<곡 제목>/<프레임>.jpg) 메모리 LRU 캐시
+ * - 전문가 이미지는 바뀌지 않으므로 Base64 인코딩 결과를 미리 계산해 보관
+ * - 전체 바이트 예산(max-bytes)을 넘으면 가장 오래 사용하지 않은 항목부터 제거
+ * - 곡별로 처음 사용될 때 해당 곡의 전문가 프레임을 백그라운드로 미리 적재
+ */
+@Component
+public class ExpertFrameCache {
+    private static final Logger log = LoggerFactory.getLogger(ExpertFrameCache.class);
+
+    private static final String BUCKET_NAME = "danzle-s3-bucket";
+    private static final String EXPERT_FRAMES_DIR = "expert_frames/";
+
+    private final S3Client s3Client;
+    // S3 목록 조회 / 다운로드는 블로킹이므로 피드백용 bounded scheduler에서 실행
+    private final Scheduler feedbackScheduler;
+
+    // S3 key -> Base64 바이트 (access-order, this로 동기화)
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes = 0;
+
+    private final Set<String> warmedSongs = ConcurrentHashMap.newKeySet();
+
+    @Value("${feedback.expert-frame-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    // 곡 하나를 미리 적재할 때 사용할 최대 바이트 (예산 전체를 한 곡이 차지하지 않도록)
+    @Value("${feedback.expert-frame-cache.warm-max-bytes-per-song:16777216}")
+    private long warmMaxBytesPerSong;
+
+    @Value("${feedback.expert-frame-cache.warm-on-first-use:true}")
+    private boolean warmOnFirstUse;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ExpertFrameCache(S3Client s3Client, @Qualifier("feedbackScheduler") Scheduler feedbackScheduler,
+                            MeterRegistry meterRegistry) {
+        this.s3Client = s3Client;
+        this.feedbackScheduler = feedbackScheduler;
+        this.hits = meterRegistry.counter("feedback.expert_frame_cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("feedback.expert_frame_cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("feedback.expert_frame_cache.evictions");
+        meterRegistry.gauge("feedback.expert_frame_cache.bytes", this, ExpertFrameCache::sizeInBytes);
+        meterRegistry.gauge("feedback.expert_frame_cache.entries", this, ExpertFrameCache::entryCount);
+    }
+
+    public static boolean isExpertFrameKey(String s3Key) {
+        return s3Key.startsWith(EXPERT_FRAMES_DIR);
+    }
+
+    /** 전문가 프레임의 Base64 바이트 반환 (miss 시 S3에서 읽어 캐시에 저장) **/
+    public byte[] getBase64(String s3Key) throws IOException {
+        byte[] cached = get(s3Key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        byte[] base64 = load(s3Key);
+        put(s3Key, base64);
+        return base64;
+    }
+
+    /** 곡의 전문가 프레임을 처음 사용될 때 한 번만 백그라운드로 미리 적재 **/
+    public void warmSong(String songTitle) {
+        if (!warmOnFirstUse || !warmedSongs.add(songTitle)) {
+            return;
+        }
+
+        feedbackScheduler.schedule(() -> {
+            long warmedBytes = 0;
+            int warmedCount = 0;
+            try {
+                ListObjectsV2Request request = ListObjectsV2Request.builder()
+                        .bucket(BUCKET_NAME)
+                        .prefix(EXPERT_FRAMES_DIR + songTitle + "/")
+                        .build();
+
+                for (S3Object object : s3Client.listObjectsV2Paginator(request).contents()) {
+                    if (warmedBytes >= warmMaxBytesPerSong) {
+                        break;
+                    }
+                    if (get(object.key()) != null) {
+                        continue;
+                    }
+                    byte[] base64 = load(object.key());
+                    put(object.key(), base64);
+                    warmedBytes += base64.length;
+                    warmedCount++;
+                }
+                log.info("전문가 프레임 캐시 적재 완료 (song={}, frames={}, bytes={})", songTitle, warmedCount, warmedBytes);
+            } catch (Exception e) {
+                warmedSongs.remove(songTitle);  // 다음 사용 시 다시 시도
+                log.warn("전문가 프레임 캐시 적재 실패 (song={}): {}", songTitle, e.getMessage());
+            }
+        });
+    }
+
+    private byte[] load(String s3Key) throws IOException {
+        BlockingCallGuard.assertBlockingAllowed("전문가 프레임 S3 읽기");
+        try (InputStream inputStream = s3Client.getObject(GetObjectRequest.builder()
+                .bucket(BUCKET_NAME)
+                .key(s3Key)
+                .build())) {
+            return Base64.getEncoder().encode(inputStream.readAllBytes());
+        }
+    }
+
+    private synchronized byte[] get(String s3Key) {
+        return entries.get(s3Key);
+    }
+
+    private synchronized void put(String s3Key, byte[] base64) {
+        if (base64.length > maxBytes) {
+            return;  // 예산보다 큰 항목은 캐시하지 않음
+        }
+
+        byte[] previous = entries.put(s3Key, base64);
+        currentBytes += base64.length - (previous != null ? previous.length : 0);
+
+        Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, byte[]> entry = eldest.next();
+            if (entry.getKey().equals(s3Key)) {
+                continue;
+            }
+            currentBytes -= entry.getValue().length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized double sizeInBytes() {
+        return currentBytes;
+    }
+
+    private synchronized double entryCount() {
+        return entries.size();
+    }
+}
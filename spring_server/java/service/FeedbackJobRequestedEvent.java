@@ -0,0 +1,11 @@
+package capston.capston_spring.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 세션 저장 완료 → 하위 점수 피드백 백그라운드 작업 등록 요청 **/
+@Getter
+@AllArgsConstructor
+public class FeedbackJobRequestedEvent {
+    private final Long sessionId;
+}
@@ -0,0 +1,171 @@
+package capston.capston_spring.service;
+
+import capston.capston_spring.dto.FeedbackJobStatusResponse;
+import capston.capston_spring.dto.LowScoreFeedbackResponse;
+import capston.capston_spring.entity.AccuracySession;
+import capston.capston_spring.entity.FeedbackJob;
+import capston.capston_spring.entity.FeedbackJobStatus;
+import capston.capston_spring.repository.AccuracySessionRepository;
+import capston.capston_spring.repository.FeedbackJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 하위 점수 GPT 피드백 백그라운드 작업 큐
+ * - saveSession 후 FeedbackJobRequestedEvent를 받아 작업을 DB(feedback_job)에 등록하고 워커 풀에 제출
+ * - 워커 수 / 대기열 크기는 feedbackJobExecutor 설정으로 제한 (대기열이 가득 차면 다음 poll에서 다시 제출)
+ * - 실패 시 지수 백오프로 재시도 (영상 업로드가 세션 저장보다 늦게 끝나는 경우 포함), max-attempts 초과 시 FAILED
+ * - 서버 재시작 시 RUNNING 상태로 남은 작업은 PENDING으로 되돌려 다시 실행
+ */
+@Service
+public class FeedbackJobService {
+    private static final Logger log = LoggerFactory.getLogger(FeedbackJobService.class);
+
+    private final FeedbackJobRepository feedbackJobRepository;
+    private final AccuracySessionRepository accuracySessionRepository;
+    private final AccuracySessionService accuracySessionService;
+    private final ThreadPoolTaskExecutor feedbackJobExecutor;
+
+    @Value("${feedback.job.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${feedback.job.retry-base-delay-ms:30000}")
+    private long retryBaseDelayMs;
+
+    // 작업 1건(영상 추출 + GPT 호출)의 최대 실행 시간
+    @Value("${feedback.job.timeout-ms:180000}")
+    private long jobTimeoutMs;
+
+    public FeedbackJobService(FeedbackJobRepository feedbackJobRepository,
+                              AccuracySessionRepository accuracySessionRepository,
+                              AccuracySessionService accuracySessionService,
+                              @Qualifier("feedbackJobExecutor") ThreadPoolTaskExecutor feedbackJobExecutor) {
+        this.feedbackJobRepository = feedbackJobRepository;
+        this.accuracySessionRepository = accuracySessionRepository;
+        this.accuracySessionService = accuracySessionService;
+        this.feedbackJobExecutor = feedbackJobExecutor;
+    }
+
+    @EventListener
+    public void onFeedbackJobRequested(FeedbackJobRequestedEvent event) {
+        try {
+            enqueue(event.getSessionId());
+        } catch (Exception e) {
+            // 작업 등록 실패가 세션 저장을 실패시키지 않도록 (피드백은 요청 시 동기 생성으로 대체됨)
+            log.error("피드백 작업 등록 실패 (sessionId={}): {}", event.getSessionId(), e.getMessage());
+        }
+    }
+
+    /** 작업 등록 (이미 완료 / 처리 중이면 무시, 실패했던 작업은 처음부터 다시) **/
+    public void enqueue(Long sessionId) {
+        FeedbackJob job = feedbackJobRepository.findById(sessionId).orElseGet(() -> new FeedbackJob(sessionId));
+        if (job.getStatus() == FeedbackJobStatus.DONE || job.getStatus() == FeedbackJobStatus.RUNNING) {
+            return;
+        }
+
+        if (job.getStatus() == FeedbackJobStatus.FAILED) {
+            job.setAttempts(0);
+            job.setLastError(null);
+        }
+        job.setStatus(FeedbackJobStatus.PENDING);
+        job.setNextAttemptAt(LocalDateTime.now());
+        feedbackJobRepository.save(job);
+
+        submit(sessionId);
+    }
+
+    /**
+     * 아직 결과가 준비되지 않은 작업의 진행 상태 (첫 실행 대기 / 처리 중일 때만 반환)
+     * - 실패 후 재시도 백오프 중인 작업은 반환하지 않음: 호출자가 요청 시 생성으로 넘어가도록
+     *   (요청 시 생성이 저장한 피드백은 다음 재시도에서 완료로 처리됨)
+     **/
+    public Optional<FeedbackJobStatusResponse> findInProgress(Long sessionId) {
+        return feedbackJobRepository.findById(sessionId)
+                .filter(job -> job.getStatus() == FeedbackJobStatus.RUNNING
+                        || (job.getStatus() == FeedbackJobStatus.PENDING && job.getAttempts() == 0))
+                .map(job -> new FeedbackJobStatusResponse(sessionId, job.getStatus(), job.getAttempts(), job.getLastError()));
+    }
+
+    /** 재시도 시각이 된 대기 작업을 워커 풀에 제출 **/
+    @Scheduled(fixedDelayString = "${feedback.job.poll-interval-ms:15000}")
+    public void submitDueJobs() {
+        List<FeedbackJob> due = feedbackJobRepository.findByStatusAndNextAttemptAtLessThanEqual(
+                FeedbackJobStatus.PENDING, LocalDateTime.now());
+        for (FeedbackJob job : due) {
+            submit(job.getSessionId());
+        }
+    }
+
+    /** 재시작 복구: 이전 프로세스에서 처리 중이던 작업을 다시 대기 상태로 **/
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterruptedJobs() {
+        int recovered = feedbackJobRepository.resetRunning(LocalDateTime.now());
+        if (recovered > 0) {
+            log.info("중단된 피드백 작업 {}건을 다시 대기 상태로 변경", recovered);
+        }
+    }
+
+    private void submit(Long sessionId) {
+        try {
+            feedbackJobExecutor.execute(() -> run(sessionId));
+        } catch (TaskRejectedException e) {
+            // 작업은 PENDING으로 DB에 남아 있으므로 다음 poll에서 다시 제출됨
+            log.warn("피드백 작업 대기열이 가득 참 (sessionId={}), 다음 poll에서 재시도", sessionId);
+        }
+    }
+
+    void run(Long sessionId) {
+        // 같은 작업이 대기열에 중복 제출돼도 한 워커만 실행
+        if (feedbackJobRepository.claim(sessionId, LocalDateTime.now()) == 0) {
+            return;
+        }
+
+        try {
+            List<LowScoreFeedbackResponse> feedbacks = accuracySessionService.generateLowScoreFeedback(sessionId)
+                    .block(Duration.ofMillis(jobTimeoutMs));
+
+            boolean completed = accuracySessionRepository.findById(sessionId)
+                    .map(AccuracySession::isFeedbackCompleted)
+                    .orElse(false);
+
+            // 하위 점수 프레임이 없는 세션은 다시 시도해도 결과가 같으므로 완료 처리
+            if (completed || feedbacks == null || feedbacks.isEmpty()) {
+                feedbackJobRepository.finish(sessionId, FeedbackJobStatus.DONE, null, LocalDateTime.now(), LocalDateTime.now());
+                log.info("피드백 작업 완료 (sessionId={})", sessionId);
+            } else {
+                retryLater(sessionId, "일부 프레임 피드백 생성 실패");
+            }
+        } catch (Exception e) {
+            log.error("피드백 작업 실패 (sessionId={}): {}", sessionId, e.getMessage());
+            retryLater(sessionId, e.getMessage());
+        }
+    }
+
+    private void retryLater(Long sessionId, String error) {
+        int attempts = feedbackJobRepository.findById(sessionId).map(FeedbackJob::getAttempts).orElse(maxAttempts);
+        String lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        LocalDateTime now = LocalDateTime.now();
+
+        if (attempts >= maxAttempts) {
+            feedbackJobRepository.finish(sessionId, FeedbackJobStatus.FAILED, lastError, now, now);
+            log.warn("피드백 작업 최대 재시도 초과 (sessionId={}, attempts={})", sessionId, attempts);
+            return;
+        }
+
+        long delayMs = retryBaseDelayMs * (1L << Math.min(attempts - 1, 10));
+        feedbackJobRepository.finish(sessionId, FeedbackJobStatus.PENDING, lastError, now.plusNanos(delayMs * 1_000_000), now);
+    }
+}
@@ -0,0 +1,75 @@
+package capston.capston_spring.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GPT 이미지 피드백 결과 캐시 (Redis)
+ * - temperature 0.0 요청이므로 같은 (사용자 이미지, 전문가 이미지, 프롬프트 버전) 조합은 같은 결과로 간주
+ * - 키는 이미지 내용의 해시이므로 세션/사용자가 달라도 재사용됨
+ * - Redis 장애 시에는 캐시 없이 그대로 GPT를 호출하도록 예외를 삼킴
+ **/
+@Component
+public class FeedbackResultCache {
+    private static final Logger log = LoggerFactory.getLogger(FeedbackResultCache.class);
+
+    private static final String KEY_PREFIX = "gpt-feedback:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${feedback.result-cache.ttl-hours:720}")
+    private long ttlHours;
+
+    public FeedbackResultCache(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.hits = meterRegistry.counter("feedback.result_cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("feedback.result_cache.requests", "result", "miss");
+    }
+
+    /** 프롬프트 버전 + 이미지 다이제스트들로 캐시 키 생성 **/
+    public static String key(String promptVersion, String userImageDigest, String expertImageDigest) {
+        return KEY_PREFIX + sha256Hex((promptVersion + "\n" + userImageDigest + "\n" + expertImageDigest)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    public Optional<String> get(String key) {
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            (cached != null ? hits : misses).increment();
+            return Optional.ofNullable(cached);
+        } catch (Exception e) {
+            log.warn("GPT 피드백 캐시 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, String feedback) {
+        try {
+            redisTemplate.opsForValue().set(key, feedback, ttlHours, TimeUnit.HOURS);
+        } catch (Exception e) {
+            log.warn("GPT 피드백 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+}
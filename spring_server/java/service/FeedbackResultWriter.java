@@ -0,0 +1,55 @@
+package capston.capston_spring.service;
+
+import capston.capston_spring.utils.BlockingCallGuard;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 하위 점수 프레임 GPT 피드백 결과 저장
+ * - 한 세션의 피드백을 하나의 트랜잭션에서 JDBC batch update로 저장
+ * - feedbackCompleted는 모든 프레임의 피드백이 저장될 때만 같은 트랜잭션에서 true로 변경
+ *   (일부 실패한 세션은 완료로 표시되지 않으므로 다음 요청에서 실패한 프레임만 다시 처리됨)
+ */
+@Component
+public class FeedbackResultWriter {
+
+    private static final String UPDATE_FEEDBACK_SQL =
+            "UPDATE accuracy_frame_evaluation SET gpt_feedback = ? WHERE id = ?";
+    private static final String MARK_COMPLETED_SQL =
+            "UPDATE accuracy_session SET feedback_completed = true WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public FeedbackResultWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /** frameId -> GPT 피드백 저장 + (allCompleted일 때) 세션 완료 표시 **/
+    public void save(Long sessionId, Map<Long, String> feedbackByFrameId, boolean allCompleted) {
+        if (feedbackByFrameId.isEmpty() && !allCompleted) {
+            return;
+        }
+
+        BlockingCallGuard.assertBlockingAllowed("GPT 피드백 저장");
+        List<Map.Entry<Long, String>> rows = new ArrayList<>(feedbackByFrameId.entrySet());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_FEEDBACK_SQL, rows, rows.size(), (ps, row) -> {
+                    ps.setString(1, row.getValue());
+                    ps.setLong(2, row.getKey());
+                });
+            }
+            if (allCompleted) {
+                jdbcTemplate.update(MARK_COMPLETED_SQL, sessionId);
+            }
+        });
+    }
+}
@@ -0,0 +1,273 @@
+package capston.capston_spring.service;
+
+import capston.capston_spring.entity.AccuracyFrameEvaluation;
+import capston.capston_spring.entity.ResultTag;
+import capston.capston_spring.repository.AccuracySessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * AccuracyFrameEvaluation write-behind 버퍼
+ * - 세션별로 프레임 평가를 모았다가 개수(batch-size) / 시간(flush-interval-ms) 기준으로 JDBC batch insert
+ * - saveSession, 요약/피드백 조회 전에는 flush(sessionId)로 해당 세션을 먼저 비움
+ * - 종료 시(@PreDestroy) 남은 버퍼를 모두 저장
+ * - 같은 세션의 저장은 세션별 락(stripe)으로 직렬화 -> flush가 반환되면 진행 중이던 저장까지 커밋된 상태
+ * - 계속 실패하는 묶음은 max-attempts 이후 한 행씩 저장하고, 그래도 실패하는 행은 로그(dead letter)로 남기고 버림
+ * - 저장(saveSession)이 끝난 세션에는 프레임을 더 받지 않음 (종료 직전 검사를 통과한 요청이 뒤늦게 집계를 바꾸지 않도록)
+ * - insert와 같은 트랜잭션에서 AccuracySession 누적 집계(합계/개수/등급별 개수/최소·최대)를 갱신
+ *
+ * 엔티티는 IDENTITY 전략이라 Hibernate batch insert가 불가능하므로 JdbcTemplate으로 직접 insert 한다.
+ * (id는 DB auto_increment로 부여, MySQL URL에 rewriteBatchedStatements=true 설정 시 multi-row insert로 전송)
+ */
+@Component
+public class FrameEvaluationWriteBuffer {
+    private static final Logger log = LoggerFactory.getLogger(FrameEvaluationWriteBuffer.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO accuracy_frame_evaluation (session_id, frame_index, score, result_tag) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccuracySessionRepository accuracySessionRepository;
+
+    // sessionId -> 아직 저장되지 않은 프레임 평가 (compute 안에서만 수정)
+    private final Map<Long, List<AccuracyFrameEvaluation>> buffers = new ConcurrentHashMap<>();
+
+    // 세션별 저장 직렬화용 락 (세션 수와 무관하게 고정 개수, 정리 불필요)
+    private static final int LOCK_STRIPES = 64;
+    private final ReentrantLock[] writeLocks = new ReentrantLock[LOCK_STRIPES];
+
+    // sessionId -> 연속 저장 실패 횟수 (세션 락 안에서만 수정)
+    private final Map<Long, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    // 종료된 sessionId -> 종료 시각 (System.nanoTime, closed-retention-ms 이후 정리)
+    private final Map<Long, Long> closedSessions = new ConcurrentHashMap<>();
+
+    // 종료 표시 보관 시간 (종료 직전에 시작된 요청이 끝나기에 충분한 시간, 이후에는 세션 조회 단계에서 거절됨)
+    @Value("${accuracy.frame-buffer.closed-retention-ms:600000}")
+    private long closedRetentionMs;
+
+    @Value("${accuracy.frame-buffer.batch-size:30}")
+    private int batchSize;
+
+    @Value("${accuracy.frame-buffer.max-attempts:5}")
+    private int maxAttempts;
+
+    private final Counter insertedRows;
+    private final Counter deadLetterRows;
+    private final Counter batchWrites;
+    private final DistributionSummary batchSizes;
+
+    public FrameEvaluationWriteBuffer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                      AccuracySessionRepository accuracySessionRepository, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.accuracySessionRepository = accuracySessionRepository;
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+
+        this.insertedRows = meterRegistry.counter("accuracy.frame_buffer.rows");
+        this.deadLetterRows = meterRegistry.counter("accuracy.frame_buffer.dead_letter");
+        this.batchWrites = meterRegistry.counter("accuracy.frame_buffer.batches");  // DB 왕복 횟수
+        this.batchSizes = meterRegistry.summary("accuracy.frame_buffer.batch_size");
+        meterRegistry.gaugeMapSize("accuracy.frame_buffer.sessions", List.of(), buffers);
+    }
+
+    /**
+     * 프레임 평가 추가 - batch-size에 도달하면 호출 스레드에서 바로 flush
+     * - 종료된 세션이면 IllegalArgumentException (종료 표시와 같은 compute 안에서 확인)
+     * - flush 실패는 로그만 남김: 프레임은 버퍼에 남아 다음 flush에서 저장되므로 요청을 실패시키면 재전송으로 중복 저장됨
+     **/
+    public void add(AccuracyFrameEvaluation frame) {
+        Long sessionId = frame.getSession().getId();
+        AtomicInteger size = new AtomicInteger();
+
+        buffers.compute(sessionId, (id, pending) -> {
+            if (closedSessions.containsKey(id)) {
+                throw new IllegalArgumentException("Session already saved: " + id);
+            }
+            List<AccuracyFrameEvaluation> list = pending != null ? pending : new ArrayList<>();
+            list.add(frame);
+            size.set(list.size());
+            return list;
+        });
+
+        if (size.get() >= batchSize) {
+            try {
+                flush(sessionId);
+            } catch (Exception e) {
+                log.error("프레임 평가 버퍼 flush 실패, 다음 flush에서 재시도 (sessionId={}): {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 세션 종료 표시 후 남은 프레임 저장 (saveSession에서 세션 락 안에서 호출)
+     * - 표시 이후의 add / writeNow는 거절되므로, 반환 후 누적 집계는 더 바뀌지 않음
+     **/
+    public void close(Long sessionId) {
+        buffers.compute(sessionId, (id, pending) -> {
+            closedSessions.put(id, System.nanoTime());
+            return pending;
+        });
+        flush(sessionId);
+    }
+
+    /** 세션 락을 잡은 상태에서 실행 (같은 세션의 flush / writeNow와 겹치지 않음, 재진입 가능) **/
+    public <T> T withSessionLock(Long sessionId, Supplier<T> action) {
+        ReentrantLock lock = writeLock(sessionId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 특정 세션의 버퍼를 즉시 저장 (saveSession / 조회 전 호출)
+     * - 세션 락 안에서 버퍼를 비우고 저장하므로, 다른 스레드가 같은 세션을 저장 중이면 그 저장이 끝날 때까지 대기
+     **/
+    public void flush(Long sessionId) {
+        ReentrantLock lock = writeLock(sessionId);
+        lock.lock();
+        try {
+            List<AccuracyFrameEvaluation> pending = buffers.remove(sessionId);
+            if (pending != null && !pending.isEmpty()) {
+                write(sessionId, pending);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 여러 프레임 평가를 버퍼를 거치지 않고 한 트랜잭션으로 바로 저장 (/analyze-batch)
+     * - 같은 세션의 flush와 겹치지 않도록 세션 lock 안에서 저장하되, 대기 중인 다른 프레임은 함께 쓰지 않음
+     *   (버퍼에 남은 다른 요청의 실패가 이 묶음을 실패시키지 않도록)
+     * - 실패 시 버퍼로 되돌리지 않고 예외를 그대로 던짐
+     *   (Flask 모션 평가 상태는 이미 갱신됐으므로 클라이언트는 같은 묶음을 재전송하지 않음)
+     **/
+    public void writeNow(Long sessionId, List<AccuracyFrameEvaluation> frames) {
+        if (frames.isEmpty()) {
+            return;
+        }
+        ReentrantLock lock = writeLock(sessionId);
+        lock.lock();
+        try {
+            if (closedSessions.containsKey(sessionId)) {
+                throw new IllegalArgumentException("Session already saved: " + sessionId);
+            }
+            insert(sessionId, frames);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 시간 기준 flush (+ 보관 시간이 지난 종료 표시 정리) **/
+    @Scheduled(fixedDelayString = "${accuracy.frame-buffer.flush-interval-ms:2000}")
+    public void flushAll() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(closedRetentionMs);
+        closedSessions.values().removeIf(closedAt -> closedAt - deadline < 0);
+
+        for (Long sessionId : List.copyOf(buffers.keySet())) {
+            try {
+                flush(sessionId);
+            } catch (Exception e) {
+                log.error("프레임 평가 버퍼 flush 실패 (sessionId={}): {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    /** 정상 종료 시 남은 프레임 평가 저장 **/
+    @PreDestroy
+    public void shutdown() {
+        log.info("종료 전 프레임 평가 버퍼 flush (세션 {}개)", buffers.size());
+        flushAll();
+    }
+
+    private ReentrantLock writeLock(Long sessionId) {
+        return writeLocks[Math.floorMod(sessionId.hashCode(), LOCK_STRIPES)];
+    }
+
+    /** 세션 락을 잡은 상태에서만 호출 **/
+    private void write(Long sessionId, List<AccuracyFrameEvaluation> frames) {
+        try {
+            insert(sessionId, frames);
+            failedAttempts.remove(sessionId);
+        } catch (RuntimeException e) {
+            int attempts = failedAttempts.merge(sessionId, 1, Integer::sum);
+            if (attempts >= maxAttempts) {
+                // 재시도 한도 초과: 한 행씩 저장해 문제 행만 걸러냄 (정상 행까지 버리지 않도록)
+                failedAttempts.remove(sessionId);
+                insertIndividually(sessionId, frames);
+                return;
+            }
+
+            // 유실 방지: 실패한 프레임은 버퍼 앞쪽으로 되돌려 다음 flush에서 재시도
+            buffers.merge(sessionId, frames, (current, failed) -> {
+                List<AccuracyFrameEvaluation> merged = new ArrayList<>(failed);
+                merged.addAll(current);
+                return merged;
+            });
+            throw e;
+        }
+    }
+
+    private void insertIndividually(Long sessionId, List<AccuracyFrameEvaluation> frames) {
+        for (AccuracyFrameEvaluation frame : frames) {
+            try {
+                insert(sessionId, List.of(frame));
+            } catch (RuntimeException e) {
+                // dead letter: 수동 복구할 수 있도록 행 내용을 그대로 남김
+                deadLetterRows.increment();
+                log.error("프레임 평가 저장 포기 (sessionId={}, frameIndex={}, score={}, resultTag={}): {}",
+                        sessionId, frame.getFrameIndex(), frame.getScore(), frame.getResultTag(), e.getMessage());
+            }
+        }
+    }
+
+    /** batch insert + 세션 누적 집계 갱신 (한 트랜잭션) **/
+    private void insert(Long sessionId, List<AccuracyFrameEvaluation> frames) {
+        FrameScoreAggregate delta = FrameScoreAggregate.of(frames);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, frames, frames.size(), (ps, frame) -> {
+                ps.setLong(1, sessionId);
+                ps.setInt(2, frame.getFrameIndex());
+                ps.setDouble(3, frame.getScore());
+                ps.setString(4, frame.getResultTag());
+            });
+
+            accuracySessionRepository.addFrameAggregates(sessionId,
+                    delta.getScoreSum(), delta.getFrameCount(),
+                    delta.count(ResultTag.PERFECT), delta.count(ResultTag.GOOD), delta.count(ResultTag.NORMAL),
+                    delta.count(ResultTag.BAD), delta.count(ResultTag.MISS),
+                    delta.getMinScore(), delta.getMaxScore());
+        });
+
+        insertedRows.increment(frames.size());
+        batchWrites.increment();
+        batchSizes.record(frames.size());
+    }
+}
@@ -0,0 +1,286 @@
+package capston.capston_spring.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flask로 보내기 전 분석 프레임 축소 + JPEG 재인코딩 (flask.preprocess.enabled=true일 때만)
+ * - MediaPipe는 작은 이미지로 충분하므로 긴 변을 max-edge 이하로 줄여 전송량과 Flask 디코딩 비용을 줄임
+ * - 정수배 축소는 디코딩 단계(source subsampling)에서 처리하고 나머지만 보간
+ * - 축소용 캔버스와 인코딩 버퍼는 작은 풀(pool-size개)에서 빌려 재사용, 최종 결과만 실제 크기로 복사
+ *   (요청 스레드마다 버퍼를 붙잡아 두지 않도록, 풀이 비면 임시로 만들고 너무 커진 버퍼는 반납하지 않음)
+ * - 이미 작은 이미지, 디코딩할 수 없는 이미지, 재인코딩해도 작아지지 않는 이미지는 원본 그대로 전송
+ * - EXIF 회전 정보가 있는 JPEG도 원본 그대로 전송 (ImageIO는 EXIF orientation을 적용하지 않고,
+ *   재인코딩하면 메타데이터가 빠져 Flask가 회전되지 않은 이미지를 받게 됨)
+ */
+@Component
+public class FrameImagePreprocessor {
+    private static final Logger log = LoggerFactory.getLogger(FrameImagePreprocessor.class);
+
+    private static final int INITIAL_BUFFER_BYTES = 128 * 1024;
+    // 이보다 커진 인코딩 버퍼는 풀에 돌려놓지 않음 (ByteArrayOutputStream은 reset해도 줄어들지 않음)
+    private static final int MAX_RETAINED_BUFFER_BYTES = 1024 * 1024;
+    // EXIF orientation을 찾기 위해 읽는 JPEG 앞부분 크기 (APP1 세그먼트 최대 크기)
+    private static final int EXIF_SCAN_BYTES = 64 * 1024;
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    // 재사용 캔버스 + 인코딩 버퍼 (동시에 전처리하는 요청 수만큼만 보관)
+    private final BlockingQueue<Workspace> workspaces;
+
+    @Value("${flask.preprocess.enabled:false}")
+    private boolean enabled;
+
+    // 긴 변 최대 픽셀 수
+    @Value("${flask.preprocess.max-edge:640}")
+    private int maxEdge;
+
+    // JPEG 품질 (0.0 ~ 1.0)
+    @Value("${flask.preprocess.quality:0.8}")
+    private float quality;
+
+    // 이 크기보다 작은 업로드는 디코딩하지 않고 그대로 전송
+    @Value("${flask.preprocess.min-bytes:65536}")
+    private long minBytes;
+
+    private final DistributionSummary bytesIn;
+    private final DistributionSummary bytesOut;
+    private final Counter passThrough;
+    private final Timer processTime;
+
+    public FrameImagePreprocessor(MeterRegistry meterRegistry,
+                                  @Value("${flask.preprocess.pool-size:4}") int poolSize) {
+        this.workspaces = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.bytesIn = meterRegistry.summary("flask.preprocess.bytes_in");
+        this.bytesOut = meterRegistry.summary("flask.preprocess.bytes_out");  // 원본 전송 시 원본 크기
+        this.passThrough = meterRegistry.counter("flask.preprocess.pass_through");
+        this.processTime = meterRegistry.timer("flask.preprocess.time");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 축소 + 재인코딩한 JPEG 바이트
+     * @return 원본을 그대로 보내야 하면 null (비활성화, 이미 작음, 디코딩 실패, 크기 이득 없음)
+     */
+    public byte[] preprocess(MultipartFile image) {
+        if (!enabled) {
+            return null;
+        }
+        bytesIn.record(image.getSize());
+        if (image.getSize() < minBytes || hasExifRotation(image)) {
+            return passThrough(image);
+        }
+
+        long start = System.nanoTime();
+        try (InputStream input = image.getInputStream();
+             ImageInputStream imageInput = new MemoryCacheImageInputStream(input)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                return passThrough(image);
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int longEdge = Math.max(width, height);
+                if (longEdge <= maxEdge) {
+                    return passThrough(image);
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = longEdge / maxEdge;
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                BufferedImage decoded = reader.read(0, param);
+
+                double scale = (double) maxEdge / longEdge;
+                Workspace workspace = borrow();
+                byte[] encoded;
+                try {
+                    encoded = encode(workspace, scale(workspace, decoded,
+                            Math.max(1, (int) Math.round(width * scale)),
+                            Math.max(1, (int) Math.round(height * scale))));
+                } finally {
+                    release(workspace);
+                }
+
+                if (encoded.length >= image.getSize()) {
+                    return passThrough(image);
+                }
+                bytesOut.record(encoded.length);
+                return encoded;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("프레임 전처리 실패, 원본 전송 (file={}): {}", image.getOriginalFilename(), e.getMessage());
+            return passThrough(image);
+        } finally {
+            processTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private byte[] passThrough(MultipartFile image) {
+        passThrough.increment();
+        bytesOut.record(image.getSize());
+        return null;
+    }
+
+    /**
+     * JPEG APP1(Exif) 세그먼트의 orientation이 1(정방향)이 아니면 true
+     * - 앞부분만 읽고, 형식이 맞지 않으면 회전 없음으로 간주
+     **/
+    private boolean hasExifRotation(MultipartFile image) {
+        try (InputStream input = image.getInputStream()) {
+            return exifOrientation(input.readNBytes(EXIF_SCAN_BYTES)) > 1;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int exifOrientation(byte[] jpeg) {
+        if (jpeg.length < 4 || (jpeg[0] & 0xFF) != 0xFF || (jpeg[1] & 0xFF) != 0xD8) {
+            return 0;
+        }
+
+        int pos = 2;
+        while (pos + 4 <= jpeg.length && (jpeg[pos] & 0xFF) == 0xFF) {
+            int marker = jpeg[pos + 1] & 0xFF;
+            int length = ((jpeg[pos + 2] & 0xFF) << 8) | (jpeg[pos + 3] & 0xFF);
+            if (marker == 0xDA || length < 2) {
+                return 0;  // 이미지 데이터 시작 (이후에는 메타데이터 없음)
+            }
+            int segment = pos + 4;
+            if (marker == 0xE1 && segment + 14 <= jpeg.length
+                    && jpeg[segment] == 'E' && jpeg[segment + 1] == 'x' && jpeg[segment + 2] == 'i' && jpeg[segment + 3] == 'f') {
+                return tiffOrientation(jpeg, segment + 6, Math.min(jpeg.length, pos + 2 + length));
+            }
+            pos += 2 + length;
+        }
+        return 0;
+    }
+
+    /** TIFF 헤더(II / MM) 이후 IFD0에서 orientation 태그 값 **/
+    private static int tiffOrientation(byte[] data, int tiff, int end) {
+        boolean littleEndian = data[tiff] == 'I' && data[tiff + 1] == 'I';
+        int ifd = tiff + readInt(data, tiff + 4, littleEndian);
+        if (ifd < tiff || ifd + 2 > end) {
+            return 0;
+        }
+
+        int entries = readShort(data, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                return 0;
+            }
+            if (readShort(data, entry, littleEndian) == EXIF_ORIENTATION_TAG) {
+                return readShort(data, entry + 8, littleEndian);
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] data, int pos, boolean littleEndian) {
+        int b0 = data[pos] & 0xFF;
+        int b1 = data[pos + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] data, int pos, boolean littleEndian) {
+        int high = readShort(data, littleEndian ? pos + 2 : pos, littleEndian);
+        int low = readShort(data, littleEndian ? pos : pos + 2, littleEndian);
+        return (high << 16) | low;
+    }
+
+    /** 풀에서 작업 공간을 빌림 (비어 있으면 새로 생성) **/
+    private Workspace borrow() {
+        Workspace workspace = workspaces.poll();
+        return workspace != null ? workspace : new Workspace();
+    }
+
+    /** 작업 공간 반납 (너무 커진 버퍼는 버리고, 풀이 가득 차면 반납하지 않음) **/
+    private void release(Workspace workspace) {
+        if (workspace.buffer.size() > MAX_RETAINED_BUFFER_BYTES) {
+            workspace.buffer = new ByteArrayOutputStream(INITIAL_BUFFER_BYTES);
+        }
+        workspace.buffer.reset();
+        workspaces.offer(workspace);
+    }
+
+    /** 작업 공간 캔버스에 보간 축소 (크기가 같으면 캔버스 재사용) **/
+    private BufferedImage scale(Workspace workspace, BufferedImage source, int width, int height) {
+        BufferedImage canvas = workspace.canvas;
+        if (canvas == null || canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+            workspace.canvas = canvas;
+        }
+
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return canvas;
+    }
+
+    /** 작업 공간 출력 버퍼에 JPEG 인코딩 후 실제 크기만큼 복사 **/
+    private byte[] encode(Workspace workspace, BufferedImage image) throws IOException {
+        ByteArrayOutputStream buffer = workspace.buffer;
+        buffer.reset();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(buffer)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return buffer.toByteArray();
+    }
+
+    /** 전처리 한 건이 쓰는 캔버스 + 인코딩 버퍼 (한 번에 한 스레드만 사용) **/
+    private static final class Workspace {
+        private BufferedImage canvas;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_BYTES);
+    }
+}
@@ -0,0 +1,49 @@
+package capston.capston_spring.service;
+
+import capston.capston_spring.entity.AccuracyFrameEvaluation;
+import capston.capston_spring.entity.ResultTag;
+
+/** 프레임 평가 묶음의 합계 / 개수 / 등급별 개수 / 최소·최대 점수 **/
+class FrameScoreAggregate {
+    private double scoreSum = 0.0;
+    private int frameCount = 0;
+    private final int[] tagCounts = new int[ResultTag.values().length];
+    private Double minScore;
+    private Double maxScore;
+
+    static FrameScoreAggregate of(Iterable<AccuracyFrameEvaluation> frames) {
+        FrameScoreAggregate aggregate = new FrameScoreAggregate();
+        for (AccuracyFrameEvaluation frame : frames) {
+            aggregate.add(frame.getScore(), frame.getResultTag());
+        }
+        return aggregate;
+    }
+
+    void add(double score, String resultTag) {
+        scoreSum += score;
+        frameCount++;
+        tagCounts[ResultTag.from(resultTag).ordinal()]++;
+        minScore = minScore == null ? score : Math.min(minScore, score);
+        maxScore = maxScore == null ? score : Math.max(maxScore, score);
+    }
+
+    double getScoreSum() {
+        return scoreSum;
+    }
+
+    int getFrameCount() {
+        return frameCount;
+    }
+
+    int count(ResultTag tag) {
+        return tagCounts[tag.ordinal()];
+    }
+
+    Double getMinScore() {
+        return minScore;
+    }
+
+    Double getMaxScore() {
+        return maxScore;
+    }
+}
@@ -0,0 +1,310 @@
+package capston.capston_spring.service;
+
+import capston.capston_spring.exception.OpenAiApiException;
+import capston.capston_spring.exception.OpenAiLimiterRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * OpenAI 호출 전역 제한기
+ * - 동시 요청 수 제한 (permit 대기열은 논블로킹, 대기열 초과 시 즉시 429)
+ * - 토큰 버킷으로 분당 요청 수 제한 (API 티어에 맞춰 설정)
+ * - 429 / 5xx / 타임아웃은 지터가 있는 지수 백오프로 재시도하되, 재시도 예산 안에서만 허용
+ *   (대기열 초과로 제한기가 직접 만든 429는 재시도하지 않음)
+ * - 시도별 타임아웃
+ * - 대기열 길이 / 진행 중 요청 수 / 전체 지연 시간(백분위) 메트릭 노출
+ **/
+@Component
+public class OpenAiRequestLimiter {
+    private static final Logger log = LoggerFactory.getLogger(OpenAiRequestLimiter.class);
+
+    private static final int STATE_WAITING = 0;
+    private static final int STATE_GRANTED = 1;
+    private static final int STATE_CANCELLED = 2;
+
+    @Value("${openai.limiter.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${openai.limiter.max-queue:200}")
+    private int maxQueue;
+
+    // 분당 요청 수 (토큰 충전 속도)
+    @Value("${openai.limiter.requests-per-minute:60}")
+    private double requestsPerMinute;
+
+    // 순간적으로 허용할 최대 요청 수 (버킷 크기)
+    @Value("${openai.limiter.burst:10}")
+    private double burst;
+
+    @Value("${openai.limiter.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @Value("${openai.retry.max-attempts:3}")
+    private int maxRetries;
+
+    @Value("${openai.retry.min-backoff-ms:500}")
+    private long minBackoffMs;
+
+    @Value("${openai.retry.max-backoff-ms:8000}")
+    private long maxBackoffMs;
+
+    // 요청 1건당 적립되는 재시도 예산 (0.2 → 전체 요청의 약 20%까지만 재시도)
+    @Value("${openai.retry.budget-ratio:0.2}")
+    private double retryBudgetRatio;
+
+    // 재시도 예산 최대 적립량 (장애 직후 한꺼번에 재시도가 몰리지 않도록)
+    @Value("${openai.retry.budget-max:20}")
+    private double retryBudgetMax;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter retries;
+    private final Counter retriesDenied;
+    private final Counter rejected;
+
+    // permit 상태 (lock으로 보호)
+    private final Object lock = new Object();
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private int inFlight = 0;
+
+    // 토큰 버킷 상태 (this로 동기화)
+    private double tokens;
+    private long lastRefillNanos;
+    private double retryBudget;
+
+    public OpenAiRequestLimiter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.retries = meterRegistry.counter("openai.requests.retries", "result", "allowed");
+        this.retriesDenied = meterRegistry.counter("openai.requests.retries", "result", "budget_exhausted");
+        this.rejected = meterRegistry.counter("openai.requests.rejected");
+        meterRegistry.gauge("openai.limiter.queue_depth", this, OpenAiRequestLimiter::queueDepth);
+        meterRegistry.gauge("openai.limiter.in_flight", this, OpenAiRequestLimiter::inFlight);
+    }
+
+    @PostConstruct
+    void init() {
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.retryBudget = retryBudgetMax / 2;
+    }
+
+    /** 제한기를 거쳐 요청 실행 (재시도마다 supplier를 다시 구독) **/
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            depositRetryBudget();
+            long startNanos = System.nanoTime();
+
+            Mono<T> attempt = Mono.usingWhen(
+                    acquire(),
+                    permit -> {
+                        long delayNanos = reserveToken();
+                        Mono<T> request = Mono.defer(call).timeout(Duration.ofMillis(timeoutMs));
+                        return delayNanos > 0 ? Mono.delay(Duration.ofNanos(delayNanos)).then(request) : request;
+                    },
+                    Permit::releaseMono,
+                    (permit, error) -> permit.releaseMono(),
+                    Permit::releaseMono);
+
+            return attempt
+                    .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(minBackoffMs))
+                            .maxBackoff(Duration.ofMillis(maxBackoffMs))
+                            .jitter(0.5)
+                            .filter(this::shouldRetry)
+                            .doBeforeRetry(signal -> log.warn("OpenAI 요청 재시도 {}회차: {}",
+                                    signal.totalRetries() + 1, signal.failure().getMessage()))
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .onErrorMap(TimeoutException.class,
+                            e -> new OpenAiApiException("OpenAI 응답 시간 초과 (" + timeoutMs + "ms)", 504, e))
+                    .doOnEach(signal -> {
+                        if (signal.isOnNext() || signal.isOnError()) {
+                            record(startNanos, signal.isOnError() ? outcome(signal.getThrowable()) : "success");
+                        }
+                    })
+                    .doOnCancel(() -> record(startNanos, "cancelled"));
+        });
+    }
+
+    private void record(long startNanos, String outcome) {
+        Timer.builder("openai.requests")
+                .description("OpenAI 요청 전체 지연 시간 (대기열 + 재시도 포함)")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String outcome(Throwable error) {
+        return error instanceof OpenAiApiException ex ? String.valueOf(ex.getStatusCode()) : "error";
+    }
+
+    /** OpenAI의 429 / 5xx / 타임아웃만 재시도하며, 재시도 예산이 남아 있을 때만 허용 **/
+    private boolean shouldRetry(Throwable error) {
+        if (error instanceof OpenAiLimiterRejectedException) {
+            // 대기열이 가득 찬 상태에서 재시도하면 부하만 늘어나므로 바로 실패
+            return false;
+        }
+        boolean retryable = error instanceof TimeoutException
+                || (error instanceof OpenAiApiException ex && (ex.getStatusCode() == 429 || ex.getStatusCode() >= 500));
+        if (!retryable) {
+            return false;
+        }
+
+        if (!withdrawRetryBudget()) {
+            retriesDenied.increment();
+            return false;
+        }
+        retries.increment();
+        return true;
+    }
+
+    /* ---------------- 동시 요청 수 제한 ---------------- */
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit granted = null;
+            boolean full = false;
+            Waiter waiter = null;
+
+            synchronized (lock) {
+                if (inFlight < maxInFlight && waiters.isEmpty()) {
+                    inFlight++;
+                    granted = new Permit();
+                } else if (waiters.size() >= maxQueue) {
+                    full = true;
+                } else {
+                    waiter = new Waiter(sink);
+                    waiters.addLast(waiter);
+                }
+            }
+
+            if (granted != null) {
+                Permit permit = granted;
+                sink.onCancel(permit::release);
+                sink.success(permit);
+            } else if (full) {
+                rejected.increment();
+                sink.error(new OpenAiLimiterRejectedException("OpenAI 요청 대기열이 가득 찼습니다."));
+            } else {
+                sink.onCancel(waiter::cancel);
+            }
+        });
+    }
+
+    /** permit 반환 시 대기 중인 요청에게 넘겨줌 (lock 밖에서 신호 전달) **/
+    private void releasePermit() {
+        while (true) {
+            Waiter next;
+            synchronized (lock) {
+                next = waiters.pollFirst();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+            // 취소된 대기자는 건너뛰고 다음 대기자에게 넘김 (inFlight는 그대로 유지)
+            if (next.grant()) {
+                return;
+            }
+        }
+    }
+
+    private double queueDepth() {
+        synchronized (lock) {
+            return waiters.size();
+        }
+    }
+
+    private double inFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    /** 동시 요청 슬롯 (release는 여러 번 호출돼도 한 번만 반환) **/
+    private class Permit {
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                releasePermit();
+            }
+        }
+
+        Mono<Void> releaseMono() {
+            return Mono.fromRunnable(this::release);
+        }
+    }
+
+    /** permit 대기자: WAITING → GRANTED / CANCELLED 중 먼저 일어난 쪽만 유효 **/
+    private class Waiter {
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(STATE_WAITING);
+        private volatile Permit permit;
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        boolean grant() {
+            Permit granted = new Permit();
+            this.permit = granted;
+            if (!state.compareAndSet(STATE_WAITING, STATE_GRANTED)) {
+                return false;
+            }
+            sink.success(granted);
+            return true;
+        }
+
+        void cancel() {
+            if (state.compareAndSet(STATE_WAITING, STATE_CANCELLED)) {
+                synchronized (lock) {
+                    waiters.remove(this);
+                }
+            } else if (state.get() == STATE_GRANTED) {
+                // permit을 받은 직후 취소된 경우 (usingWhen이 받기 전일 수 있으므로 여기서 반환)
+                permit.release();
+            }
+        }
+    }
+
+    /* ---------------- 토큰 버킷 ---------------- */
+
+    /** 토큰 1개를 예약하고, 토큰이 모자라면 충전될 때까지 기다려야 하는 시간(ns) 반환 **/
+    private synchronized long reserveToken() {
+        double ratePerNano = requestsPerMinute / TimeUnit.MINUTES.toNanos(1);
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * ratePerNano);
+        lastRefillNanos = now;
+
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / ratePerNano);
+    }
+
+    private synchronized void depositRetryBudget() {
+        retryBudget = Math.min(retryBudgetMax, retryBudget + retryBudgetRatio);
+    }
+
+    private synchronized boolean withdrawRetryBudget() {
+        if (retryBudget < 1) {
+            return false;
+        }
+        retryBudget -= 1;
+        return true;
+    }
+}
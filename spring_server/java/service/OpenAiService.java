@@ -2,23 +2,38 @@ package capston.capston_spring.service;
 
 import capston.capston_spring.dto.ChatCompletionResponse;
 import capston.capston_spring.exception.OpenAiApiException;
+import capston.capston_spring.utils.BlockingCallGuard;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 @Service
 public class OpenAiService {
@@ -27,19 +42,116 @@ public class OpenAiService {
     private final WebClient openAiWebClient;
 
     private final S3Client s3Client;
+    private final ObjectMapper objectMapper;
+    private final ExpertFrameCache expertFrameCache;
+    private final FeedbackResultCache feedbackResultCache;
+    private final OpenAiRequestLimiter requestLimiter;
     private static final String BUCKET_NAME = "danzle-s3-bucket";
 
-    public OpenAiService(WebClient openAiWebClient, S3Client s3Client) {
+    // 프롬프트 / 모델 / temperature를 바꾸면 반드시 올릴 것 (GPT 피드백 캐시 키에 포함됨)
+    private static final String PROMPT_VERSION = "image-feedback-v1";
+
+    // 요청 JSON에서 이미지 Base64가 들어갈 자리 (직렬화 후 스트림으로 교체)
+    private static final String USER_IMAGE_PLACEHOLDER = "__USER_IMAGE_BASE64__";
+    private static final String EXPERT_IMAGE_PLACEHOLDER = "__EXPERT_IMAGE_BASE64__";
+
+    // S3 읽기 / Redis 조회 / Base64 인코딩은 블로킹이므로 이벤트 루프가 아닌 feedbackScheduler에서 실행
+    private final Scheduler feedbackScheduler;
+    private final Executor imageStreamExecutor;
+
+    public OpenAiService(@Qualifier("openAiWebClient") WebClient openAiWebClient, S3Client s3Client,
+                         ObjectMapper objectMapper, ExpertFrameCache expertFrameCache,
+                         FeedbackResultCache feedbackResultCache, OpenAiRequestLimiter requestLimiter,
+                         @Qualifier("feedbackScheduler") Scheduler feedbackScheduler) {
         this.openAiWebClient = openAiWebClient;
         this.s3Client = s3Client;
+        this.objectMapper = objectMapper;
+        this.expertFrameCache = expertFrameCache;
+        this.feedbackResultCache = feedbackResultCache;
+        this.requestLimiter = requestLimiter;
+        this.feedbackScheduler = feedbackScheduler;
+        this.imageStreamExecutor = task -> feedbackScheduler.schedule(task);
     }
 
     //이미지 기반 GPT 피드백 메서드 (GPT-4o Vision) 0513
     public Mono<String> getDanceImageFeedback(String userImagePath, String expertImagePath) {
-        try {
-            String userImageBase64 = encodeImageFromS3(userImagePath);
-            String expertImageBase64 = encodeImageFromS3(expertImagePath);
+        return cachedImageFeedback(
+                () -> FeedbackResultCache.key(PROMPT_VERSION, s3ImageDigest(userImagePath), s3ImageDigest(expertImagePath)),
+                s3ImageSource(userImagePath), s3ImageSource(expertImagePath));
+    }
+
+    /** 이미 메모리에 있는 사용자 프레임(JPEG 바이트) + S3 전문가 이미지로 피드백 요청 (사용자 이미지 S3 재다운로드 없음) **/
+    public Mono<String> getDanceImageFeedback(byte[] userImageJpeg, String expertImagePath) {
+        return cachedImageFeedback(
+                () -> FeedbackResultCache.key(PROMPT_VERSION, FeedbackResultCache.sha256Hex(userImageJpeg), s3ImageDigest(expertImagePath)),
+                bytesImageSource(userImageJpeg), s3ImageSource(expertImagePath));
+    }
+
+    /**
+     * GPT 호출 전에 이미지 쌍 해시로 Redis 캐시를 먼저 조회
+     * - 다이제스트 계산(S3 HEAD / 캐시 조회)은 블로킹이므로 feedbackScheduler에서 실행
+     * - 키 계산에 실패하면 캐시 없이 그대로 요청
+     **/
+    private Mono<String> cachedImageFeedback(Callable<String> cacheKey,
+                                             Base64ImageSource userImage,
+                                             Base64ImageSource expertImage) {
+        return Mono.fromCallable(() -> Optional.of(cacheKey.call()))
+                .onErrorResume(e -> {
+                    log.warn("GPT 피드백 캐시 키 계산 실패, 캐시 없이 요청: {}", e.getMessage());
+                    return Mono.just(Optional.empty());
+                })
+                .subscribeOn(feedbackScheduler)
+                .flatMap(key -> {
+                    if (key.isEmpty()) {
+                        return limitedImageFeedback(userImage, expertImage);
+                    }
+
+                    Optional<String> cached = feedbackResultCache.get(key.get());
+                    if (cached.isPresent()) {
+                        return Mono.just(cached.get());
+                    }
+
+                    return limitedImageFeedback(userImage, expertImage)
+                            .flatMap(feedback -> Mono.fromRunnable(() -> feedbackResultCache.put(key.get(), feedback))
+                                    .subscribeOn(feedbackScheduler)
+                                    .thenReturn(feedback));
+                });
+    }
+
+    /** 전역 제한기(동시 요청 수 / 분당 요청 수 / 재시도 예산)를 거쳐 GPT 호출 **/
+    private Mono<String> limitedImageFeedback(Base64ImageSource userImage, Base64ImageSource expertImage) {
+        return requestLimiter.execute(() -> requestImageFeedback(userImage, expertImage));
+    }
+
+    /**
+     * S3 이미지 내용 식별자
+     * - 전문가 프레임: 캐시된 Base64의 SHA-256
+     * - 그 외: S3 ETag (객체를 내려받지 않고 HEAD 요청만 사용)
+     **/
+    private String s3ImageDigest(String s3Url) throws IOException {
+        BlockingCallGuard.assertBlockingAllowed("S3 이미지 다이제스트 계산");
+        String key = toS3Key(s3Url);
+
+        if (ExpertFrameCache.isExpertFrameKey(key)) {
+            return FeedbackResultCache.sha256Hex(expertFrameCache.getBase64(key));
+        }
+
+        return "etag:" + s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(BUCKET_NAME)
+                .key(key)
+                .build()).eTag();
+    }
+
+    private String toS3Key(String s3Url) {
+        return s3Url.replace("https://" + BUCKET_NAME + ".s3.ap-northeast-2.amazonaws.com/", "");
+    }
 
+    /**
+     * GPT Vision 요청
+     * - 이미지를 Base64 String으로 만들어 Map에 넣지 않고, S3 InputStream을 요청 body로 바로 Base64 스트리밍
+     **/
+    private Mono<String> requestImageFeedback(Base64ImageSource userImage, Base64ImageSource expertImage) {
+        try {
             List<Map<String, Object>> messages = List.of(
                     Map.of(
                             "role", "system",
@@ -61,11 +173,11 @@ public class OpenAiService {
                                     ),
                                     Map.of(
                                             "type", "image_url",
-                                            "image_url", Map.of("url", "data:image/png;base64," + userImageBase64)
+                                            "image_url", Map.of("url", "data:image/png;base64," + USER_IMAGE_PLACEHOLDER)
                                     ),
                                     Map.of(
                                             "type", "image_url",
-                                            "image_url", Map.of("url", "data:image/png;base64," + expertImageBase64)
+                                            "image_url", Map.of("url", "data:image/png;base64," + EXPERT_IMAGE_PLACEHOLDER)
                                     )
                             )
                     )
@@ -79,7 +191,7 @@ public class OpenAiService {
 
             return openAiWebClient.post()
                     .uri("/chat/completions")
-                    .bodyValue(requestBody)
+                    .body(BodyInserters.fromDataBuffers(streamingRequestBody(requestBody, userImage, expertImage)))
                     .retrieve()
                     .bodyToMono(ChatCompletionResponse.class)
                     .map(response -> {
@@ -99,33 +211,110 @@ public class OpenAiService {
                         );
                         return Mono.error(new OpenAiApiException(errorMessage, ex.getRawStatusCode()));
                     })
-                    .onErrorResume(Exception.class, ex -> {
+                    .onErrorResume(ex -> !(ex instanceof OpenAiApiException), ex -> {
                         log.error("OpenAI API 호출 중 일반 오류", ex);
                         return Mono.error(new OpenAiApiException("OpenAI API 호출 중 알 수 없는 오류가 발생했습니다.", 500));
                     });
 
-        } catch (IOException e) {
-            return Mono.error(new RuntimeException("이미지 인코딩 실패: " + e.getMessage()));
+        } catch (JsonProcessingException e) {
+            return Mono.error(new RuntimeException("GPT 요청 생성 실패: " + e.getMessage()));
         }
     }
 
-    // Base64 인코딩 유틸 (local version)
-    private String encodeImage(String imagePath) throws IOException {
-        Path path = Paths.get(imagePath);
-        byte[] imageBytes = Files.readAllBytes(path);
-        return Base64.getEncoder().encodeToString(imageBytes);
+    /**
+     * 요청 JSON을 [앞부분 - 사용자 이미지 Base64 - 중간 - 전문가 이미지 Base64 - 뒷부분] 순서의 DataBuffer 스트림으로 생성
+     * - Base64 문자는 JSON 이스케이프가 필요 없으므로 그대로 이어 붙일 수 있음
+     **/
+    private Flux<DataBuffer> streamingRequestBody(Map<String, Object> requestBody,
+                                                  Base64ImageSource userImage,
+                                                  Base64ImageSource expertImage) throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(requestBody);
+        int userAt = json.indexOf(USER_IMAGE_PLACEHOLDER);
+        int expertAt = json.indexOf(EXPERT_IMAGE_PLACEHOLDER);
+        if (userAt < 0 || expertAt < userAt) {
+            throw new IllegalStateException("GPT 요청 JSON에서 이미지 위치를 찾을 수 없습니다.");
+        }
+
+        String head = json.substring(0, userAt);
+        String middle = json.substring(userAt + USER_IMAGE_PLACEHOLDER.length(), expertAt);
+        String tail = json.substring(expertAt + EXPERT_IMAGE_PLACEHOLDER.length());
+
+        return Flux.concat(
+                textBuffer(head),
+                base64Buffers(userImage),
+                textBuffer(middle),
+                base64Buffers(expertImage),
+                textBuffer(tail)
+        );
     }
 
-    // Base64 인코딩 유틸 (s3 version)
-    private String encodeImageFromS3(String s3Url) throws IOException {
-        String key = s3Url.replace("https://" + BUCKET_NAME + ".s3.ap-northeast-2.amazonaws.com/", "");
+    private Mono<DataBuffer> textBuffer(String text) {
+        return Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
 
-        try (InputStream inputStream = s3Client.getObject(GetObjectRequest.builder()
-                .bucket(BUCKET_NAME)
-                .key(key)
-                .build())) {
-            byte[] bytes = inputStream.readAllBytes();
-            return Base64.getEncoder().encodeToString(bytes);
+    /** 이미지 소스가 쓰는 Base64 바이트를 청크 단위 DataBuffer로 발행 (구독 시점에 S3 읽기 시작) **/
+    private Flux<DataBuffer> base64Buffers(Base64ImageSource source) {
+        return Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+            try {
+                source.writeBase64(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException("이미지 인코딩 실패: " + e.getMessage(), e);
+            }
+        }, DefaultDataBufferFactory.sharedInstance, imageStreamExecutor));
+    }
+
+    /** Base64로 인코딩된 이미지 바이트를 주어진 스트림에 쓰는 소스 **/
+    @FunctionalInterface
+    private interface Base64ImageSource {
+        void writeBase64(OutputStream out) throws IOException;
+    }
+
+    /**
+     * S3 이미지 -> Base64 스트리밍 소스 (이미지 전체를 힙에 올리지 않음)
+     * - 전문가 프레임은 변하지 않으므로 ExpertFrameCache의 미리 계산된 Base64를 그대로 사용
+     **/
+    private Base64ImageSource s3ImageSource(String s3Url) {
+        String key = toS3Key(s3Url);
+
+        if (ExpertFrameCache.isExpertFrameKey(key)) {
+            return out -> out.write(expertFrameCache.getBase64(key));
+        }
+
+        return out -> {
+            BlockingCallGuard.assertBlockingAllowed("S3 이미지 읽기");
+            try (InputStream inputStream = s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(BUCKET_NAME)
+                    .key(key)
+                    .build());
+                 OutputStream encoder = Base64.getEncoder().wrap(new NonClosingOutputStream(out))) {
+                inputStream.transferTo(encoder);
+            }
+        };
+    }
+
+    /** 메모리 이미지 바이트 -> Base64 스트리밍 소스 **/
+    private Base64ImageSource bytesImageSource(byte[] imageBytes) {
+        return out -> {
+            try (OutputStream encoder = Base64.getEncoder().wrap(new NonClosingOutputStream(out))) {
+                encoder.write(imageBytes);
+            }
+        };
+    }
+
+    /** Base64 인코더를 닫을 때(패딩 기록) 바깥 스트림까지 닫히지 않도록 보호 **/
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
         }
     }
 }
@@ -65,6 +65,8 @@ public class SongService {
         song.setTitle(songDto.getTitle());
         song.setArtist(songDto.getArtist());
         song.setCoverImagePath(songDto.getCoverImagePath());
+        song.setFps(songDto.getFps());
+        song.setReferenceFrameInterval(songDto.getReferenceFrameInterval());
 
         // JWT 토큰에서 사용자 정보 추출
         String username = getAuthenticatedUsername();
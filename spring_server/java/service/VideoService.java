@@ -1,19 +1,24 @@
 package capston.capston_spring.service;
 
+import capston.capston_spring.dto.ExtractedUserFrame;
 import capston.capston_spring.dto.MyVideoResponse;
 import capston.capston_spring.dto.RecordedVideoDto;
 import capston.capston_spring.entity.*;
 import capston.capston_spring.exception.SessionNotFoundException;
+import capston.capston_spring.utils.BlockingCallGuard;
 import capston.capston_spring.exception.UserNotFoundException;
 import capston.capston_spring.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.bytedeco.javacv.FFmpegFrameGrabber;
 import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
 import org.bytedeco.javacv.Java2DFrameConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
@@ -28,8 +33,17 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,12 +57,19 @@ public class VideoService {
     private final ChallengeSessionRepository challengeSessionRepository;
     private final AccuracySessionRepository accuracySessionRepository; // 추가
     private final S3Client s3Client;
+    private final ThreadPoolTaskExecutor frameUploadExecutor;
 
     private static final String BUCKET_NAME = "danzle-s3-bucket";
     private static final String VIDEO_STORAGE_DIR = "user_videos/";
     private static final String USER_FRAMES_DIR = "user_frames/";
 
-    private final Java2DFrameConverter converter = new Java2DFrameConverter();
+    // 이 거리(프레임 수)보다 멀리 떨어진 프레임은 순차 디코딩 대신 seek
+    @Value("${video.frame-extract.seek-threshold-frames:60}")
+    private int seekThresholdFrames;
+
+    // 프레임 업로드 전체 마감 시간
+    @Value("${video.frame-upload.deadline-ms:10000}")
+    private long uploadDeadlineMs;
 
 
     /** 사용자명 기반 모든 영상 조회 **/
@@ -247,10 +268,7 @@ public class VideoService {
 
     /** 녹화된 사용자 영상에서 프레임 5개 추출 */
     public Map<Integer, BufferedImage> extractMultipleFramesFromVideo(InputStream videoStream, List<Integer> targetIndices) throws Exception {
-        Map<Integer, BufferedImage> resultMap = new HashMap<>();
-        Set<Integer> targetSet = new HashSet<>(targetIndices);
-
-        if (targetSet.isEmpty()) {
+        if (targetIndices.isEmpty()) {
             throw new IllegalArgumentException("추출할 프레임 인덱스가 없습니다.");
         }
 
@@ -258,46 +276,87 @@ public class VideoService {
         try {
             grabber.start();
 
-            // 회전 정보 읽기 (없으면 0)
-            String rotationStr = grabber.getVideoMetadata("rotate");
-            int rotation = rotationStr != null ? Integer.parseInt(rotationStr) : 0;
-
             int totalFrames = grabber.getLengthInFrames();
-            for (Integer idx : targetSet) {
+            for (Integer idx : targetIndices) {
                 if (idx >= totalFrames) {
                     throw new IllegalArgumentException("Frame index " + idx + " exceeds total frames: " + totalFrames);
                 }
             }
 
-            int currentFrame = 0;
-            Frame frame;
+            return grabFrames(grabber, targetIndices, false);
+        } finally {
+            grabber.stop();
+        }
+    }
 
-            while (currentFrame <= Collections.max(targetSet) && (frame = grabber.grabImage()) != null) {
-                if (targetSet.contains(currentFrame)) {
-                    BufferedImage img = converter.convert(frame);
-                    if (rotation != 0) {
-                        img = rotateImage(img, rotation);
-                    }
-                    resultMap.put(currentFrame, img);
+    /**
+     * 이미 시작된 grabber에서 대상 프레임들을 추출 (회전 보정 포함)
+     * - seekable: 파일 기반 grabber면 목표 프레임 직전 키프레임으로 seek 후 그 지점부터만 디코딩
+     * - 스트림 기반(seek 불가) grabber는 처음부터 순차 디코딩
+     **/
+    private Map<Integer, BufferedImage> grabFrames(FFmpegFrameGrabber grabber, Collection<Integer> targetIndices, boolean seekable) throws Exception {
+        // Java2DFrameConverter는 thread-safe 하지 않으므로 호출마다 생성
+        Java2DFrameConverter converter = new Java2DFrameConverter();
+        Map<Integer, BufferedImage> resultMap = new HashMap<>();
+        List<Integer> sortedTargets = targetIndices.stream().distinct().sorted().collect(Collectors.toList());
+
+        // 회전 정보 읽기 (없으면 0)
+        String rotationStr = grabber.getVideoMetadata("rotate");
+        int rotation = rotationStr != null ? Integer.parseInt(rotationStr) : 0;
+
+        int position = 0;  // 다음 grabImage()가 반환할 프레임 번호
+        for (int target : sortedTargets) {
+            if (seekable && target - position > seekThresholdFrames) {
+                try {
+                    grabber.setVideoFrameNumber(target);  // 키프레임으로 이동 후 target까지 디코딩
+                    position = target;
+                } catch (FrameGrabber.Exception e) {
+                    log.warn("프레임 {} seek 실패 → 순차 디코딩으로 전환: {}", target, e.getMessage());
+                    // seek 실패 후 디코더 위치를 신뢰할 수 없으므로 처음부터 다시 시작
+                    seekable = false;
+                    grabber.restart();
+                    position = 0;
                 }
-                currentFrame++;
             }
 
-            log.info("총 추출된 프레임 수: {}", resultMap.size());
-            return resultMap;
+            // 가까운 프레임은 seek 없이 앞으로 디코딩
+            while (position < target && grabber.grabImage() != null) {
+                position++;
+            }
 
-        } finally {
-            grabber.stop();
+            Frame frame = position == target ? grabber.grabImage() : null;
+            if (frame == null) {
+                log.warn("프레임 {} 추출 실패 (스트림 종료)", target);
+                break;
+            }
+            position++;
+
+            BufferedImage img = converter.convert(frame);
+            if (rotation != 0) {
+                img = rotateImage(img, rotation);
+            }
+            resultMap.put(target, img);
         }
+
+        log.info("총 추출된 프레임 수: {}", resultMap.size());
+        return resultMap;
     }
 
     /** BufferedImage → S3 업로드 후 URL 반환  **/
     public String uploadImageToS3(BufferedImage image, Long userId, Long sessionId, int frameIndex) throws IOException {
+        return uploadJpegToS3(encodeJpeg(image), userId, sessionId, frameIndex);
+    }
+
+    /** BufferedImage → JPEG 바이트 **/
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
         ByteArrayOutputStream os = new ByteArrayOutputStream();
         ImageIO.write(image, "jpg", os);
-        byte[] imageBytes = os.toByteArray();
+        return os.toByteArray();
+    }
 
-        String uploadKey = USER_FRAMES_DIR  + userId + "/" + sessionId + "_" + frameIndex + ".jpg";
+    /** JPEG 바이트 → S3 업로드 후 URL 반환 **/
+    private String uploadJpegToS3(byte[] imageBytes, Long userId, Long sessionId, int frameIndex) {
+        String uploadKey = userFrameKey(userId, sessionId, frameIndex);
 
         // 3. PutObjectRequest 생성
         PutObjectRequest putObjectRequest = PutObjectRequest.builder()
@@ -312,31 +371,156 @@ public class VideoService {
         return "https://" + BUCKET_NAME + ".s3.ap-northeast-2.amazonaws.com/" + uploadKey;
     }
 
-    /** 영상에서 여러 프레임을 S3에서 추출 후 이미지 업로드까지 처리  **/
-    public Map<Integer, String> extractAndUploadMultipleFrames(String s3VideoPath, List<Integer> frameIndices, Long sessionId, String mode, Long userId) {
+    /** 이미 업로드된 사용자 프레임 이미지 URL (업로드 키가 결정적이므로 S3 조회 없이 생성) **/
+    public String getUserFrameUrl(Long userId, Long sessionId, int frameIndex) {
+        return "https://" + BUCKET_NAME + ".s3.ap-northeast-2.amazonaws.com/" + userFrameKey(userId, sessionId, frameIndex);
+    }
+
+    private String userFrameKey(Long userId, Long sessionId, int frameIndex) {
+        return USER_FRAMES_DIR + userId + "/" + sessionId + "_" + frameIndex + ".jpg";
+    }
+
+    /**
+     * 영상에서 여러 프레임을 S3에서 추출 후 이미지 업로드까지 처리
+     * - S3 영상을 임시 파일로 한 번만 내려받고, 같은 grabber로 총 프레임 수 확인 + 프레임 추출
+     * - 영상 길이를 넘는 인덱스는 추출하지 않고 beyondVideoEnd 표시로 반환 (재시도 대상이 아님을 구분)
+     * - 인코딩된 JPEG 바이트를 바로 반환하고, S3 업로드는 백그라운드로 계속 진행 (공유 URL 용도)
+     **/
+    public Map<Integer, ExtractedUserFrame> extractAndUploadMultipleFrames(String s3VideoPath, List<Integer> frameIndices, Long sessionId, String mode, Long userId) {
+        BlockingCallGuard.assertBlockingAllowed("사용자 영상 프레임 추출");
+        Path videoFile = null;
         try {
             log.info("S3 영상에서 프레임 추출 시작: video={}, session={}, frames={}", s3VideoPath, sessionId, frameIndices);
+            videoFile = downloadToTempFile(s3VideoPath);
 
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(BUCKET_NAME)
-                    .key(s3VideoPath)
-                    .build();
+            FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoFile.toFile());
+            Map<Integer, BufferedImage> extractedFrames;
+            Map<Integer, ExtractedUserFrame> beyondEnd = new HashMap<>();
+            try {
+                grabber.start();
 
-            try (InputStream videoStream = s3Client.getObject(getObjectRequest)) {
-                Map<Integer, BufferedImage> extractedFrames = extractMultipleFramesFromVideo(videoStream, frameIndices);
-                Map<Integer, String> uploadedUrls = new HashMap<>();
+                int totalFrames = grabber.getLengthInFrames();
+                List<Integer> validIndices = frameIndices.stream()
+                        .filter(idx -> idx < totalFrames)
+                        .collect(Collectors.toList());
 
-                for (Map.Entry<Integer, BufferedImage> entry : extractedFrames.entrySet()) {
-                    String imageUrl = uploadImageToS3(entry.getValue(), userId, sessionId, entry.getKey());
-                    uploadedUrls.put(entry.getKey(), imageUrl);
-                    log.info("프레임 {} 업로드 완료 → {}", entry.getKey(), imageUrl);
+                if (validIndices.size() < frameIndices.size()) {
+                    log.warn("영상 길이({}) 초과 프레임 제외 (sessionId={}, 요청={}, 유효={})", totalFrames, sessionId, frameIndices, validIndices);
                 }
-                return uploadedUrls;
+                for (Integer idx : frameIndices) {
+                    if (idx >= totalFrames) {
+                        beyondEnd.put(idx, ExtractedUserFrame.beyondVideoEnd(idx));
+                    }
+                }
+                if (validIndices.isEmpty()) {
+                    return beyondEnd;
+                }
+
+                extractedFrames = grabFrames(grabber, validIndices, true);
+            } finally {
+                grabber.stop();
             }
 
+            Map<Integer, ExtractedUserFrame> result = encodeAndUploadInParallel(extractedFrames, userId, sessionId);
+            result.putAll(beyondEnd);
+            return result;
+
         } catch (Exception e) {
             log.error("여러 프레임 추출 실패 (sessionId={}, frameIndexList={}): {}", sessionId, frameIndices, e.getMessage());
             throw new RuntimeException("여러 프레임 추출 및 업로드 실패", e);
+        } finally {
+            deleteQuietly(videoFile);
+        }
+    }
+
+    /**
+     * 프레임별 JPEG 인코딩을 frameUploadExecutor에서 병렬 실행 후, 인코딩된 바이트로 S3 업로드 시작
+     * - 인코딩은 마감 시간(deadline-ms) 안에 끝난 프레임만 결과에 포함 (실패/시간 초과는 프레임별 로그 후 제외)
+     * - 업로드는 기다리지 않음: 각 프레임의 upload future가 같은 마감 시간으로 완료/실패
+     **/
+    private Map<Integer, ExtractedUserFrame> encodeAndUploadInParallel(Map<Integer, BufferedImage> frames, Long userId, Long sessionId) throws InterruptedException {
+        Map<Integer, CompletableFuture<byte[]>> encodings = new LinkedHashMap<>();
+        for (Map.Entry<Integer, BufferedImage> entry : frames.entrySet()) {
+            try {
+                encodings.put(entry.getKey(), CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return encodeJpeg(entry.getValue());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, frameUploadExecutor));
+            } catch (RejectedExecutionException e) {
+                // executor 대기열이 가득 참: 이 프레임만 제외하고 나머지는 계속 처리
+                log.error("프레임 {} 인코딩 작업 거절 (sessionId={}): {}", entry.getKey(), sessionId, e.getMessage());
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(encodings.values().toArray(new CompletableFuture[0]))
+                    .get(uploadDeadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("프레임 인코딩 마감 시간 초과 ({}ms, sessionId={})", uploadDeadlineMs, sessionId);
+        } catch (ExecutionException e) {
+            // 개별 실패는 아래에서 프레임별로 기록
+        }
+
+        Map<Integer, ExtractedUserFrame> result = new HashMap<>();
+        encodings.forEach((frameIndex, encoding) -> {
+            if (!encoding.isDone()) {
+                encoding.cancel(true);
+                log.error("프레임 {} 인코딩 시간 초과 (sessionId={})", frameIndex, sessionId);
+            } else if (encoding.isCompletedExceptionally()) {
+                log.error("프레임 {} 인코딩 실패 (sessionId={}): {}", frameIndex, sessionId, encoding.exceptionNow().getMessage());
+            } else {
+                byte[] jpegBytes = encoding.resultNow();
+                CompletableFuture<String> upload;
+                try {
+                    upload = CompletableFuture
+                            .supplyAsync(() -> uploadJpegToS3(jpegBytes, userId, sessionId, frameIndex), frameUploadExecutor)
+                            .orTimeout(uploadDeadlineMs, TimeUnit.MILLISECONDS)
+                            .whenComplete((imageUrl, e) -> {
+                                if (e != null) {
+                                    log.error("프레임 {} 업로드 실패 (sessionId={}): {}", frameIndex, sessionId, e.getMessage());
+                                } else {
+                                    log.info("프레임 {} 업로드 완료 → {}", frameIndex, imageUrl);
+                                }
+                            });
+                } catch (RejectedExecutionException e) {
+                    // executor 대기열이 가득 참: 업로드할 수 없는 프레임은 결과에서 제외
+                    log.error("프레임 {} 업로드 작업 거절 (sessionId={}): {}", frameIndex, sessionId, e.getMessage());
+                    return;
+                }
+                result.put(frameIndex, new ExtractedUserFrame(frameIndex, jpegBytes, upload));
+            }
+        });
+        return result;
+    }
+
+    /** S3 객체를 로컬 임시 파일로 다운로드 (한 번 받아서 여러 번 탐색/디코딩) **/
+    private Path downloadToTempFile(String s3Key) throws IOException {
+        Path tempFile = Files.createTempFile("danzle-video-", ".mp4");
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(BUCKET_NAME)
+                .key(s3Key)
+                .build();
+
+        try (InputStream videoStream = s3Client.getObject(getObjectRequest)) {
+            Files.copy(videoStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return tempFile;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tempFile);
+            throw e;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", file);
         }
     }
 
@@ -376,23 +560,6 @@ public class VideoService {
         }
     }
 
-    public int getTotalFrameCount(String s3VideoKey) {
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                .bucket(BUCKET_NAME)
-                .key(s3VideoKey)
-                .build();
-
-        try (InputStream videoStream = s3Client.getObject(getObjectRequest)) {
-            FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoStream);
-            grabber.start();
-            int totalFrames = grabber.getLengthInFrames();
-            grabber.stop();
-            return totalFrames;
-        } catch (Exception e) {
-            throw new RuntimeException("총 프레임 수 추출 실패", e);
-        }
-    }
-
 
 
 
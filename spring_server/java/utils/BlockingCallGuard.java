@@ -0,0 +1,18 @@
+package capston.capston_spring.utils;
+
+import reactor.core.scheduler.Schedulers;
+
+public class BlockingCallGuard {
+
+    /**
+     * 블로킹 호출(JPA, S3Client 등) 직전에 호출한다.
+     * 현재 스레드가 Netty 이벤트 루프 / parallel scheduler 같은 논블로킹 스레드이면 즉시 예외를 던져
+     * 이벤트 루프 블로킹을 개발 단계에서 바로 드러나게 한다.
+     */
+    public static void assertBlockingAllowed(String operation) {
+        if (Schedulers.isInNonBlockingThread()) {
+            throw new IllegalStateException("논블로킹 스레드에서 블로킹 호출 발생: " + operation
+                    + " (thread=" + Thread.currentThread().getName() + ")");
+        }
+    }
+}
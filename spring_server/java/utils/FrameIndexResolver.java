@@ -0,0 +1,76 @@
+package capston.capston_spring.utils;
+
+import capston.capston_spring.entity.Song;
+
+/**
+ * 클라이언트 시간(초) → 전문가 기준 키포인트 프레임 번호 변환 (곡별 fps / 기준 프레임 간격 사용)
+ * - 기준 키포인트는 영상 프레임 referenceInterval개마다 하나씩 저장되어 있음 (0, interval, 2*interval, ...)
+ * - 업로드 주기(초)에 맞는 시간만 기준 프레임으로 변환하고, 기준 포즈가 정확히 존재하는 업로드 주기(초)를 계산
+ * - 주기에 맞지 않는 시간을 가까운 기준 프레임으로 맞추면 다른 순간의 포즈와 비교하게 되므로 거절
+ * - 곡에 값이 없으면 기존 가정(SuperShy fps=30, 1초마다 기준 프레임)을 사용
+ */
+public final class FrameIndexResolver {
+
+    public static final int DEFAULT_FPS = 30;
+    public static final int DEFAULT_REFERENCE_INTERVAL = 30;
+
+    private final int fps;
+    private final int referenceInterval;
+
+    private FrameIndexResolver(int fps, int referenceInterval) {
+        this.fps = fps;
+        this.referenceInterval = referenceInterval;
+    }
+
+    public static FrameIndexResolver of(Integer fps, Integer referenceInterval) {
+        return new FrameIndexResolver(
+                fps != null && fps > 0 ? fps : DEFAULT_FPS,
+                referenceInterval != null && referenceInterval > 0 ? referenceInterval : DEFAULT_REFERENCE_INTERVAL);
+    }
+
+    public static FrameIndexResolver of(Song song) {
+        return of(song.getFps(), song.getReferenceFrameInterval());
+    }
+
+    public int getFps() {
+        return fps;
+    }
+
+    public int getReferenceInterval() {
+        return referenceInterval;
+    }
+
+    /** 초 → 기준 프레임 번호 (업로드 주기에 맞지 않는 초면 IllegalArgumentException) **/
+    public int toFrameIndex(int sec) {
+        if (sec < 0) {
+            throw new IllegalArgumentException("sec는 0 이상이어야 합니다: " + sec);
+        }
+        if (!isOnCadence(sec)) {
+            throw new IllegalArgumentException("sec는 " + getUploadIntervalSec() + "초 간격이어야 합니다: " + sec);
+        }
+        return Math.toIntExact((long) sec * fps);
+    }
+
+    /** 기준 포즈가 정확히 있는 초인지 (음수면 false, 0 이상이면 sec * fps가 referenceInterval의 배수인지) **/
+    public boolean isOnCadence(int sec) {
+        return sec >= 0 && (long) sec * fps % referenceInterval == 0;
+    }
+
+    /**
+     * 기준 포즈가 정확히 있는 초 간격 (업로드 권장 주기)
+     * - sec * fps가 referenceInterval의 배수가 되는 최소 간격 = interval / gcd(fps, interval)
+     * - 예: fps 30 / interval 30 → 1초, fps 24 / interval 48 → 2초, fps 25 / interval 10 → 2초
+     **/
+    public int getUploadIntervalSec() {
+        return referenceInterval / gcd(fps, referenceInterval);
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
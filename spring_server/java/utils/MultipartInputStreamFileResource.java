@@ -7,10 +7,17 @@ import java.io.InputStream;
 
 public class MultipartInputStreamFileResource extends InputStreamResource {
     private final String filename;
+    private final long contentLength;
 
     public MultipartInputStreamFileResource(InputStream inputStream, String filename) {
+        this(inputStream, filename, -1);
+    }
+
+    /** 길이를 알고 있는 스트림 (업로드된 MultipartFile 등) -> 버퍼링/청크 인코딩 없이 그대로 전달 **/
+    public MultipartInputStreamFileResource(InputStream inputStream, String filename, long contentLength) {
         super(inputStream);
         this.filename = filename;
+        this.contentLength = contentLength;
     }
 
     @Override
@@ -20,6 +27,6 @@ public class MultipartInputStreamFileResource extends InputStreamResource {
 
     @Override
     public long contentLength() throws IOException {
-        return -1; // 반드시 -1로 반환 (Unknown size 허용)
+        return this.contentLength; // 길이를 모르면 -1 (Unknown size 허용, 스트림을 미리 읽지 않음)
     }
 }